@@ -0,0 +1,36 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Reads a column value from the ResultSet as the property type of a PropertyMapping. Resolved once
+ * per PropertyMapping, see ColumnReaders.
+ *
+ * @author ajoseph
+ */
+@FunctionalInterface
+interface ColumnReader {
+  /**
+   * Reads the value of the column.
+   *
+   * @param rs the ResultSet
+   * @param index the column index
+   * @return the value which is assignable to the property type. null if column value is null
+   * @throws SQLException on failure
+   */
+  Object read(ResultSet rs, int index) throws SQLException;
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.math.BigDecimal;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Resolves the ColumnReader of a property mapping from its property type and the sql type of its
+ * column. The readers use the specifically typed ResultSet accessor methods (getString(), getInt()
+ * etc) the same way as JdbcUtils.getResultSetValue() but without the type dispatch for every value.
+ * Types which are not handled fall back to JdbcUtils.getResultSetValue() and the conversion service.
+ *
+ * @author ajoseph
+ */
+class ColumnReaders {
+
+  private ColumnReaders() {}
+
+  public static ColumnReader forPropertyMapping(PropertyMapping propMapping,
+      ConversionService conversionService) {
+    Class<?> type = ClassUtils.resolvePrimitiveIfNecessary(propMapping.getPropertyType());
+    ColumnReader genericReader = genericReader(type, conversionService);
+
+    if (String.class == type) {
+      return ResultSet::getString;
+    } else if (Integer.class == type) {
+      return (rs, index) -> {
+        int value = rs.getInt(index);
+        return value == 0 && rs.wasNull() ? null : value;
+      };
+    } else if (Long.class == type) {
+      return (rs, index) -> {
+        long value = rs.getLong(index);
+        return value == 0 && rs.wasNull() ? null : value;
+      };
+    } else if (Boolean.class == type) {
+      return (rs, index) -> {
+        boolean value = rs.getBoolean(index);
+        return !value && rs.wasNull() ? null : value;
+      };
+    } else if (Short.class == type) {
+      return (rs, index) -> {
+        short value = rs.getShort(index);
+        return value == 0 && rs.wasNull() ? null : value;
+      };
+    } else if (Byte.class == type) {
+      return (rs, index) -> {
+        byte value = rs.getByte(index);
+        return value == 0 && rs.wasNull() ? null : value;
+      };
+    } else if (Double.class == type) {
+      return (rs, index) -> {
+        double value = rs.getDouble(index);
+        return value == 0 && rs.wasNull() ? null : value;
+      };
+    } else if (Float.class == type) {
+      return (rs, index) -> {
+        float value = rs.getFloat(index);
+        return value == 0 && rs.wasNull() ? null : value;
+      };
+    } else if (BigDecimal.class == type) {
+      return ResultSet::getBigDecimal;
+    } else if (byte[].class == type) {
+      return ResultSet::getBytes;
+    } else if (java.sql.Timestamp.class == type) {
+      return ResultSet::getTimestamp;
+    } else if (java.sql.Date.class == type) {
+      return ResultSet::getDate;
+    } else if (java.sql.Time.class == type) {
+      return ResultSet::getTime;
+    } else if (Blob.class == type) {
+      return ResultSet::getBlob;
+    } else if (Clob.class == type) {
+      return ResultSet::getClob;
+    } else if (LocalDateTime.class == type || LocalDate.class == type || LocalTime.class == type
+        || OffsetDateTime.class == type || OffsetTime.class == type
+        || ZonedDateTime.class == type) {
+      return new TypedObjectReader(type, genericReader);
+    } else if (type.isEnum()) {
+      return enumReader(type, propMapping.getColumnSqlDataType(), genericReader);
+    }
+    return genericReader;
+  }
+
+  private static ColumnReader genericReader(Class<?> type, ConversionService conversionService) {
+    return (rs, index) -> {
+      Object value = JdbcUtils.getResultSetValue(rs, index, type);
+      if (value != null && !ClassUtils.isAssignableValue(type, value)) {
+        value = conversionService.convert(value, type);
+      }
+      return value;
+    };
+  }
+
+  // Same conversions as the Spring conversion service. Numeric columns are converted using the
+  // enum ordinal and character columns using the enum name. Unknown values are handed to the
+  // generic reader so the errors are the same as before.
+  private static ColumnReader enumReader(Class<?> type, int columnSqlDataType,
+      ColumnReader genericReader) {
+    Object[] constants = type.getEnumConstants();
+    if (isNumericSqlType(columnSqlDataType)) {
+      return (rs, index) -> {
+        int value = rs.getInt(index);
+        if (rs.wasNull()) {
+          return null;
+        }
+        return value >= 0 && value < constants.length ? constants[value]
+            : genericReader.read(rs, index);
+      };
+    } else {
+      Map<String, Object> nameToEnumMap = new HashMap<>();
+      for (Object constant : constants) {
+        nameToEnumMap.put(((Enum<?>) constant).name(), constant);
+      }
+      return (rs, index) -> {
+        String value = rs.getString(index);
+        if (value == null) {
+          return null;
+        }
+        value = value.trim();
+        if (value.isEmpty()) {
+          return null;
+        }
+        Object enumValue = nameToEnumMap.get(value);
+        return enumValue != null ? enumValue : genericReader.read(rs, index);
+      };
+    }
+  }
+
+  private static boolean isNumericSqlType(int sqlType) {
+    return sqlType == Types.TINYINT || sqlType == Types.SMALLINT || sqlType == Types.INTEGER
+        || sqlType == Types.BIGINT || sqlType == Types.NUMERIC || sqlType == Types.DECIMAL;
+  }
+
+  // Uses ResultSet.getObject(index, type) for the java.time types. If the driver does not support
+  // it, switches to the generic reader for the remaining values.
+  private static class TypedObjectReader implements ColumnReader {
+    private final Class<?> type;
+    private final ColumnReader genericReader;
+    private volatile boolean typedGetObjectSupported = true;
+
+    TypedObjectReader(Class<?> type, ColumnReader genericReader) {
+      this.type = type;
+      this.genericReader = genericReader;
+    }
+
+    @Override
+    public Object read(ResultSet rs, int index) throws SQLException {
+      if (typedGetObjectSupported) {
+        try {
+          return rs.getObject(index, type);
+        } catch (AbstractMethodError | SQLFeatureNotSupportedException e) {
+          typedGetObjectSupported = false;
+        } catch (SQLException e) {
+          // driver could not convert the column to the type. Fall through to generic reader.
+        }
+      }
+      return genericReader.read(rs, index);
+    }
+  }
+}
@@ -0,0 +1,401 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.sql.Types;
+import java.util.List;
+import java.util.StringJoiner;
+import org.springframework.jdbc.support.JdbcUtils;
+
+/**
+ * The built in dialects. The dialect is selected using the common database name of the database
+ * product name same as the Spring table meta data providers.
+ *
+ * @author ajoseph
+ */
+class Dialects {
+
+  static final IDialect DEFAULT = new DefaultDialect();
+  static final IDialect POSTGRESQL = new PostgreSqlDialect();
+  static final IDialect MYSQL = new MySqlDialect();
+  static final IDialect ORACLE = new OracleDialect();
+  static final IDialect SQLSERVER = new SqlServerDialect();
+  static final IDialect H2 = new H2Dialect();
+  static final IDialect HSQLDB = new HsqlDialect();
+
+  private Dialects() {}
+
+  public static IDialect forDatabaseProductName(String databaseProductName) {
+    String commonDatabaseName = JdbcUtils.commonDatabaseName(databaseProductName);
+    if ("PostgreSQL".equals(commonDatabaseName)) {
+      return POSTGRESQL;
+    } else if ("MySQL".equals(commonDatabaseName) || "MariaDB".equals(commonDatabaseName)) {
+      return MYSQL;
+    } else if ("Oracle".equals(commonDatabaseName)) {
+      return ORACLE;
+    } else if ("Microsoft SQL Server".equals(commonDatabaseName)) {
+      return SQLSERVER;
+    } else if ("H2".equals(commonDatabaseName)) {
+      return H2;
+    } else if ("HSQL Database Engine".equals(commonDatabaseName)) {
+      return HSQLDB;
+    }
+    return DEFAULT;
+  }
+
+  static String limitOffsetClause(Integer limit, Integer offset) {
+    StringJoiner sj = new StringJoiner(" ");
+    if (limit != null) {
+      sj.add("LIMIT " + limit);
+    }
+    if (offset != null) {
+      sj.add("OFFSET " + offset);
+    }
+    return sj.toString();
+  }
+
+  // MERGE INTO table t USING (source) s ON (t.id = s.id) WHEN MATCHED ... WHEN NOT MATCHED ...
+  // Oracle has no VALUES table constructor and needs the version condition in a WHERE clause.
+  // tableHint (for example 'WITH (HOLDLOCK)') is placed after the target table, null for none.
+  static String mergeSql(String tableName, String tableHint, String idColumnName,
+      List<String> columnNames, List<String> updateColumnNames, String versionColumnName,
+      boolean oracle) {
+    StringJoiner columns = new StringJoiner(", ");
+    StringJoiner values = new StringJoiner(", ");
+    StringJoiner sourceColumns = new StringJoiner(", ");
+    StringJoiner selectColumns = new StringJoiner(", ");
+    for (String columnName : columnNames) {
+      columns.add(columnName);
+      values.add("?");
+      sourceColumns.add("s." + columnName);
+      selectColumns.add("? AS " + columnName);
+    }
+
+    StringBuilder sb = new StringBuilder("MERGE INTO " + tableName);
+    if (tableHint != null) {
+      sb.append(" " + tableHint);
+    }
+    sb.append(" t USING ");
+    if (oracle) {
+      sb.append("(SELECT " + selectColumns + " FROM DUAL) s");
+    } else {
+      sb.append("(VALUES (" + values + ")) s (" + columns + ")");
+    }
+    sb.append(" ON (t." + idColumnName + " = s." + idColumnName + ")");
+    if (!updateColumnNames.isEmpty()) {
+      String versionCondition =
+          versionColumnName == null ? null : "t." + versionColumnName + " = ?";
+      sb.append(" WHEN MATCHED");
+      if (versionCondition != null && !oracle) {
+        sb.append(" AND " + versionCondition);
+      }
+      StringJoiner sj = new StringJoiner(", ", " THEN UPDATE SET ", "");
+      updateColumnNames.forEach(col -> sj.add("t." + col + " = s." + col));
+      sb.append(sj);
+      if (versionCondition != null && oracle) {
+        sb.append(" WHERE " + versionCondition);
+      }
+    }
+    sb.append(" WHEN NOT MATCHED THEN INSERT (" + columns + ") VALUES (" + sourceColumns + ")");
+    return sb.toString();
+  }
+
+  static String insertSql(String tableName, List<String> columnNames) {
+    StringJoiner columns = new StringJoiner(", ");
+    StringJoiner values = new StringJoiner(", ");
+    for (String columnName : columnNames) {
+      columns.add(columnName);
+      values.add("?");
+    }
+    return "INSERT INTO " + tableName + " (" + columns + ") VALUES (" + values + ")";
+  }
+
+  // the column type of a temporary table holding values of the sql type. null if not supported.
+  static String tempTableColumnType(int sqlType) {
+    switch (sqlType) {
+      case Types.TINYINT:
+      case Types.SMALLINT:
+      case Types.INTEGER:
+        return "INTEGER";
+      case Types.BIGINT:
+        return "BIGINT";
+      case Types.NUMERIC:
+      case Types.DECIMAL:
+        return "DECIMAL(38,10)";
+      case Types.CHAR:
+      case Types.VARCHAR:
+      case Types.NCHAR:
+      case Types.NVARCHAR:
+        return "VARCHAR(4000)";
+      default:
+        return null;
+    }
+  }
+
+  static String createTempTableSql(String prefix, String tableName, String columnName,
+      int sqlType) {
+    String columnType = tempTableColumnType(sqlType);
+    return columnType == null ? null
+        : prefix + " " + tableName + " (" + columnName + " " + columnType + ")";
+  }
+
+  static class DefaultDialect implements IDialect {}
+
+  static class PostgreSqlDialect implements IDialect {
+    @Override
+    public String getLimitOffsetClause(Integer limit, Integer offset) {
+      return limitOffsetClause(limit, offset);
+    }
+
+    @Override
+    public String getUpsertSql(String tableName, String idColumnName, List<String> columnNames,
+        List<String> updateColumnNames, String versionColumnName) {
+      StringBuilder sb = new StringBuilder(insertSql(tableName, columnNames));
+      sb.append(" ON CONFLICT (" + idColumnName + ")");
+      if (updateColumnNames.isEmpty()) {
+        sb.append(" DO NOTHING");
+      } else {
+        StringJoiner sj = new StringJoiner(", ", " DO UPDATE SET ", "");
+        updateColumnNames.forEach(col -> sj.add(col + " = EXCLUDED." + col));
+        sb.append(sj);
+        if (versionColumnName != null) {
+          // the existing row is referenced by the table name without the schema
+          String name = tableName.substring(tableName.lastIndexOf('.') + 1);
+          sb.append(" WHERE " + name + "." + versionColumnName + " = ?");
+        }
+      }
+      return sb.toString();
+    }
+
+    @Override
+    public boolean supportsArrayParameter() {
+      return true;
+    }
+
+    // the driver only accepts server type names. Types.OTHER is used for uuid, json etc so the
+    // actual type is not known.
+    @Override
+    public String getArrayTypeName(int sqlType) {
+      switch (sqlType) {
+        case Types.BIT:
+        case Types.BOOLEAN:
+          return "bool";
+        case Types.TINYINT:
+        case Types.SMALLINT:
+          return "int2";
+        case Types.INTEGER:
+          return "int4";
+        case Types.BIGINT:
+          return "int8";
+        case Types.REAL:
+          return "float4";
+        case Types.FLOAT:
+        case Types.DOUBLE:
+          return "float8";
+        case Types.NUMERIC:
+        case Types.DECIMAL:
+          return "numeric";
+        case Types.CHAR:
+          return "bpchar";
+        case Types.VARCHAR:
+        case Types.LONGVARCHAR:
+        case Types.NVARCHAR:
+        case Types.LONGNVARCHAR:
+          return "varchar";
+        case Types.DATE:
+          return "date";
+        case Types.TIME:
+          return "time";
+        case Types.TIMESTAMP:
+          return "timestamp";
+        case Types.TIMESTAMP_WITH_TIMEZONE:
+          return "timestamptz";
+        default:
+          return null;
+      }
+    }
+
+    @Override
+    public boolean supportsReturning() {
+      return true;
+    }
+
+    @Override
+    public int getMaxBindParameters() {
+      return 32767;
+    }
+
+    @Override
+    public boolean supportsMultiRowInsert() {
+      return true;
+    }
+
+    @Override
+    public boolean supportsBatchGeneratedKeys() {
+      return true;
+    }
+  }
+
+  // MySQL and MariaDB
+  static class MySqlDialect implements IDialect {
+    @Override
+    public String getLimitOffsetClause(Integer limit, Integer offset) {
+      // mysql does not support an OFFSET without a LIMIT
+      if (limit == null && offset != null) {
+        return "LIMIT 18446744073709551615 OFFSET " + offset;
+      }
+      return limitOffsetClause(limit, offset);
+    }
+
+    // ON DUPLICATE KEY UPDATE has no way to make the update conditional on the version.
+    @Override
+    public String getUpsertSql(String tableName, String idColumnName, List<String> columnNames,
+        List<String> updateColumnNames, String versionColumnName) {
+      if (versionColumnName != null) {
+        return null;
+      }
+      StringJoiner sj = new StringJoiner(", ", " ON DUPLICATE KEY UPDATE ", "");
+      if (updateColumnNames.isEmpty()) {
+        sj.add(idColumnName + " = " + idColumnName);
+      }
+      updateColumnNames.forEach(col -> sj.add(col + " = VALUES(" + col + ")"));
+      return insertSql(tableName, columnNames) + sj;
+    }
+
+    @Override
+    public String getCreateTempTableSql(String tableName, String columnName, int sqlType) {
+      return createTempTableSql("CREATE TEMPORARY TABLE", tableName, columnName, sqlType);
+    }
+
+    // a plain DROP TABLE causes an implicit commit
+    @Override
+    public String getDropTempTableSql(String tableName) {
+      return "DROP TEMPORARY TABLE " + tableName;
+    }
+
+    @Override
+    public int getMaxBindParameters() {
+      return 65535;
+    }
+
+    @Override
+    public boolean supportsMultiRowInsert() {
+      return true;
+    }
+
+    @Override
+    public boolean supportsBatchGeneratedKeys() {
+      return true;
+    }
+  }
+
+  static class OracleDialect implements IDialect {
+    @Override
+    public String getUpsertSql(String tableName, String idColumnName, List<String> columnNames,
+        List<String> updateColumnNames, String versionColumnName) {
+      return mergeSql(tableName, null, idColumnName, columnNames, updateColumnNames,
+          versionColumnName, true);
+    }
+
+    @Override
+    public int getMaxBindParameters() {
+      return 65535;
+    }
+  }
+
+  static class SqlServerDialect implements IDialect {
+    @Override
+    public String getUpsertSql(String tableName, String idColumnName, List<String> columnNames,
+        List<String> updateColumnNames, String versionColumnName) {
+      // sql server requires MERGE to be terminated by a semicolon. Without HOLDLOCK concurrent
+      // upserts of the same new id can both take the insert branch.
+      return mergeSql(tableName, "WITH (HOLDLOCK)", idColumnName, columnNames, updateColumnNames,
+          versionColumnName, false) + ";";
+    }
+
+    // local temporary tables are prefixed with #
+    @Override
+    public String getTempTableName(String name) {
+      return "#" + name;
+    }
+
+    @Override
+    public String getCreateTempTableSql(String tableName, String columnName, int sqlType) {
+      return createTempTableSql("CREATE TABLE", tableName, columnName, sqlType);
+    }
+  }
+
+  static class H2Dialect implements IDialect {
+    @Override
+    public String getLimitOffsetClause(Integer limit, Integer offset) {
+      return limitOffsetClause(limit, offset);
+    }
+
+    @Override
+    public String getCreateTempTableSql(String tableName, String columnName, int sqlType) {
+      // TRANSACTIONAL so that creating the table does not commit the transaction. The table is
+      // kept for the session (see getDropTempTableSql()).
+      String sql = createTempTableSql("CREATE LOCAL TEMPORARY TABLE IF NOT EXISTS", tableName,
+          columnName, sqlType);
+      return sql == null ? null : sql + " TRANSACTIONAL";
+    }
+
+    // DROP TABLE commits the transaction even for transactional temporary tables
+    @Override
+    public String getDropTempTableSql(String tableName) {
+      return "DELETE FROM " + tableName;
+    }
+
+    @Override
+    public String getUpsertSql(String tableName, String idColumnName, List<String> columnNames,
+        List<String> updateColumnNames, String versionColumnName) {
+      return mergeSql(tableName, null, idColumnName, columnNames, updateColumnNames,
+          versionColumnName, false);
+    }
+
+    @Override
+    public boolean supportsArrayParameter() {
+      return true;
+    }
+
+    @Override
+    public int getMaxBindParameters() {
+      return 32767;
+    }
+
+    @Override
+    public boolean supportsMultiRowInsert() {
+      return true;
+    }
+
+    @Override
+    public boolean supportsBatchGeneratedKeys() {
+      return true;
+    }
+  }
+
+  static class HsqlDialect implements IDialect {
+    @Override
+    public String getLimitOffsetClause(Integer limit, Integer offset) {
+      return limitOffsetClause(limit, offset);
+    }
+
+    @Override
+    public String getUpsertSql(String tableName, String idColumnName, List<String> columnNames,
+        List<String> updateColumnNames, String versionColumnName) {
+      return mergeSql(tableName, null, idColumnName, columnNames, updateColumnNames,
+          versionColumnName, false);
+    }
+  }
+}
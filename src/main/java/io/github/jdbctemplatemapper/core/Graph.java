@@ -0,0 +1,260 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import org.springframework.util.Assert;
+import io.github.jdbctemplatemapper.graph.IGraphFluent;
+import io.github.jdbctemplatemapper.graph.IGraphOrderBy;
+import io.github.jdbctemplatemapper.graph.IGraphRelationship;
+import io.github.jdbctemplatemapper.graph.IGraphType;
+import io.github.jdbctemplatemapper.querymerge.IQueryMergeExecute;
+
+/**
+ * A fetch plan which populates multiple levels of relationships of a list of objects. The
+ * relationships are loaded breadth first using QueryMerge. Each relationship of a level is loaded
+ * for all the objects of the level with a single batched query (the related ids are deduplicated
+ * across the objects) and the loaded objects become the objects of the next level. then() moves to
+ * the related type of the last relationship.
+ *
+ * <pre>
+ * Example:
+ * Graph.type(Order.class)
+ *      .hasOne(Customer.class, "customer_id", "customer")
+ *      .hasMany(OrderLine.class, "order_id", "orderLines")
+ *      .then()
+ *      .hasOne(Product.class, "product_id", "product")
+ *      .execute(jdbcTemplateMapper, orders);
+ * </pre>
+ *
+ * <p>
+ * A Graph holds no execution state so it can be built once and reused. The sql of each
+ * relationship is cached same as QueryMerge.
+ *
+ * @author ajoseph
+ */
+public class Graph<T> implements IGraphFluent<T> {
+  private final Node root;
+  private Node current; // the node relationships are added to
+  private Edge lastEdge;
+
+  private Graph(Class<T> type) {
+    this.root = new Node(type);
+    this.current = root;
+  }
+
+  /**
+   * The type whose relationships are loaded.
+   *
+   * @param <T> the type
+   * @param type the type
+   * @return interface with the next methods in the chain
+   */
+  public static <T> IGraphType<T> type(Class<T> type) {
+    Assert.notNull(type, "type cannot be null");
+    return new Graph<T>(type);
+  }
+
+  /**
+   * hasOne relationship of the current type.
+   *
+   * @param relatedType the related type
+   * @param joinColumnTypeSide the join column on the current type table
+   * @param propertyName the property of the current type to populate
+   * @return interface with the next methods in the chain
+   */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  public IGraphRelationship<T> hasOne(Class<?> relatedType, String joinColumnTypeSide,
+      String propertyName) {
+    QueryMerge queryMerge = (QueryMerge) QueryMerge.type(current.type)
+                                                   .hasOne(relatedType)
+                                                   .joinColumnTypeSide(joinColumnTypeSide)
+                                                   .populateProperty(propertyName);
+    return addEdge(queryMerge, relatedType, propertyName, true);
+  }
+
+  /**
+   * hasMany relationship of the current type.
+   *
+   * @param relatedType the related type
+   * @param joinColumnManySide the join column on the related type table
+   * @param propertyName the collection property of the current type to populate
+   * @return interface with the next methods in the chain
+   */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  public IGraphRelationship<T> hasMany(Class<?> relatedType, String joinColumnManySide,
+      String propertyName) {
+    QueryMerge queryMerge = (QueryMerge) QueryMerge.type(current.type)
+                                                   .hasMany(relatedType)
+                                                   .joinColumnManySide(joinColumnManySide)
+                                                   .populateProperty(propertyName);
+    return addEdge(queryMerge, relatedType, propertyName, false);
+  }
+
+  /**
+   * hasMany through (many to many) relationship of the current type.
+   *
+   * @param relatedType the related type
+   * @param throughJoinTable the associative table
+   * @param throughTypeJoinColumn the join column for the current type
+   * @param throughRelatedTypeJoinColumn the join column for the related type
+   * @param propertyName the collection property of the current type to populate
+   * @return interface with the next methods in the chain
+   */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  public IGraphRelationship<T> hasManyThrough(Class<?> relatedType, String throughJoinTable,
+      String throughTypeJoinColumn, String throughRelatedTypeJoinColumn, String propertyName) {
+    QueryMerge queryMerge =
+        (QueryMerge) QueryMerge.type(current.type)
+                               .hasMany(relatedType)
+                               .throughJoinTable(throughJoinTable)
+                               .throughJoinColumns(throughTypeJoinColumn,
+                                   throughRelatedTypeJoinColumn)
+                               .populateProperty(propertyName);
+    return addEdge(queryMerge, relatedType, propertyName, false);
+  }
+
+  /**
+   * The orderBy clause for the last hasMany/hasMany through relationship. See QueryMerge.orderBy().
+   *
+   * @param orderBy the orderBy clause
+   * @return interface with the next methods in the chain
+   */
+  public IGraphOrderBy<T> orderBy(String orderBy) {
+    if (lastEdge.hasOne) {
+      throw new IllegalArgumentException("orderBy is not supported for hasOne relationships");
+    }
+    lastEdge.queryMerge.orderBy(orderBy);
+    return this;
+  }
+
+  /**
+   * The relationships that follow are for the related type of the last relationship.
+   *
+   * @return interface with the next methods in the chain
+   */
+  public IGraphType<T> then() {
+    current = lastEdge.node;
+    return this;
+  }
+
+  /**
+   * Loads the relationships of the plan for the objects of the mergeList.
+   *
+   * @param jdbcTemplateMapper the jdbcTemplateMapper
+   * @param mergeList a list of objects of type
+   */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  public void execute(JdbcTemplateMapper jdbcTemplateMapper, List<T> mergeList) {
+    Assert.notNull(jdbcTemplateMapper, "jdbcTemplateMapper cannot be null");
+    if (MapperUtils.isEmpty(mergeList)) {
+      return;
+    }
+    Deque<Level> levels = new ArrayDeque<>();
+    levels.add(new Level(root, new ArrayList<>(mergeList)));
+    while (!levels.isEmpty()) {
+      Level level = levels.poll();
+      if (level.node.edges.isEmpty() || level.objs.isEmpty()) {
+        continue;
+      }
+      List<IQueryMergeExecute> queryMerges = new ArrayList<>(level.node.edges.size());
+      for (Edge edge : level.node.edges) {
+        queryMerges.add(edge.queryMerge);
+      }
+      QueryMerge.executeAll(jdbcTemplateMapper, level.objs, (List) queryMerges);
+
+      for (Edge edge : level.node.edges) {
+        if (!edge.node.edges.isEmpty()) {
+          levels.add(new Level(edge.node, relatedObjects(jdbcTemplateMapper, level, edge)));
+        }
+      }
+    }
+  }
+
+  // the distinct related objects populated on the objects of the level
+  @SuppressWarnings("rawtypes")
+  private List<Object> relatedObjects(JdbcTemplateMapper jtm, Level level, Edge edge) {
+    ModelPropertyAccessor accessor = jtm.getTableMapping(level.node.type)
+                                        .getModelAccessor()
+                                        .getPropertyAccessor(edge.propertyName);
+    // hasOne related objects can be shared by multiple objects
+    Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    List<Object> relatedObjs = new ArrayList<>();
+    for (Object obj : level.objs) {
+      if (obj == null) {
+        continue;
+      }
+      Object value = accessor.getValue(obj);
+      if (edge.hasOne) {
+        if (value != null && seen.add(value)) {
+          relatedObjs.add(value);
+        }
+      } else if (value != null) {
+        for (Object relatedObj : (Collection) value) {
+          if (relatedObj != null && seen.add(relatedObj)) {
+            relatedObjs.add(relatedObj);
+          }
+        }
+      }
+    }
+    return relatedObjs;
+  }
+
+  private Graph<T> addEdge(QueryMerge<?> queryMerge, Class<?> relatedType, String propertyName,
+      boolean hasOne) {
+    lastEdge = new Edge(queryMerge, new Node(relatedType), propertyName, hasOne);
+    current.edges.add(lastEdge);
+    return this;
+  }
+
+  private static class Node {
+    private final Class<?> type;
+    private final List<Edge> edges = new ArrayList<>();
+
+    Node(Class<?> type) {
+      this.type = type;
+    }
+  }
+
+  private static class Edge {
+    private final QueryMerge<?> queryMerge;
+    private final Node node; // the node of the related type
+    private final String propertyName;
+    private final boolean hasOne;
+
+    Edge(QueryMerge<?> queryMerge, Node node, String propertyName, boolean hasOne) {
+      this.queryMerge = queryMerge;
+      this.node = node;
+      this.propertyName = propertyName;
+      this.hasOne = hasOne;
+    }
+  }
+
+  private static class Level {
+    private final Node node;
+    private final List<Object> objs;
+
+    Level(Node node, List<Object> objs) {
+      this.node = node;
+      this.objs = objs;
+    }
+  }
+}
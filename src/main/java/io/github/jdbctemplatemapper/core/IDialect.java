@@ -0,0 +1,187 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.sql.JDBCType;
+import java.util.List;
+
+/**
+ * The database specific sql and capabilities used by JdbcTemplateMapper. A dialect is selected from
+ * the database product name for PostgreSQL, MySQL, MariaDB, Oracle, SQL Server, H2 and HSQLDB. For
+ * other databases a dialect with the generic defaults of this interface is used. A custom dialect
+ * can be configured with JdbcTemplateMapper.withDialect().
+ *
+ * @author ajoseph
+ */
+public interface IDialect {
+
+  /**
+   * The clause appended to a select to limit the rows returned. The default is the sql standard
+   * OFFSET/FETCH clause.
+   *
+   * @param limit the maximum number of rows. null for no limit
+   * @param offset the number of rows to skip. null for no offset
+   * @return the clause. Empty string if both limit and offset are null.
+   */
+  default String getLimitOffsetClause(Integer limit, Integer offset) {
+    StringBuilder sb = new StringBuilder();
+    if (offset != null || limit != null) {
+      sb.append("OFFSET ").append(offset == null ? 0 : offset).append(" ROWS");
+    }
+    if (limit != null) {
+      sb.append(" FETCH NEXT ").append(limit).append(" ROWS ONLY");
+    }
+    return sb.toString();
+  }
+
+  /**
+   * The sql which inserts a record if one with the id does not exist otherwise updates it. The bind
+   * parameters of the sql have to be the values of columnNames in order followed by the current
+   * version when versionColumnName is not null and updateColumnNames is not empty. The record
+   * should only be updated if its version column matches the current version.
+   *
+   * @param tableName the fully qualified table name
+   * @param idColumnName the id column name
+   * @param columnNames the columns inserted
+   * @param updateColumnNames the columns updated when the record exists
+   * @param versionColumnName the version column name. null if the model has no version.
+   * @return the sql. null if upsert is not supported.
+   */
+  default String getUpsertSql(String tableName, String idColumnName, List<String> columnNames,
+      List<String> updateColumnNames, String versionColumnName) {
+    return null;
+  }
+
+  /**
+   * Whether a single array parameter can be used instead of an IN clause. See
+   * getArrayParameterCondition().
+   *
+   * @return true if array parameters are supported
+   */
+  default boolean supportsArrayParameter() {
+    return false;
+  }
+
+  /**
+   * The condition matching the column against the values of a single array parameter. The array is
+   * created with Connection.createArrayOf() using getArrayTypeName().
+   *
+   * @param columnName the column name (including the table alias if any)
+   * @return the condition. Example: "id = ANY(?)"
+   */
+  default String getArrayParameterCondition(String columnName) {
+    return columnName + " = ANY(?)";
+  }
+
+  /**
+   * The type name used by Connection.createArrayOf() for the elements of an array parameter. When
+   * there is no type name for the sql type the values are matched with 'IN' clauses instead of an
+   * array parameter.
+   *
+   * @param sqlType the java.sql.Types value of the column
+   * @return the type name. null if values of the sql type cannot be bound as an array.
+   */
+  default String getArrayTypeName(int sqlType) {
+    try {
+      return JDBCType.valueOf(sqlType).getName();
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * The name used to reference a session temporary table. See getCreateTempTableSql().
+   *
+   * @param name the base name of the table
+   * @return the temporary table name
+   */
+  default String getTempTableName(String name) {
+    return name;
+  }
+
+  /**
+   * The sql which creates a session temporary table with a single column. Used by QueryMerge to
+   * join against a large number of values in a single statement. The table is created, populated,
+   * queried and dropped on the same connection, within the transaction of the caller if there is
+   * one, so neither the create nor the drop should commit the transaction.
+   *
+   * @param tableName the table name (see getTempTableName())
+   * @param columnName the column name
+   * @param sqlType the java.sql.Types value of the column
+   * @return the sql. null if temporary tables are not supported for the sql type.
+   */
+  default String getCreateTempTableSql(String tableName, String columnName, int sqlType) {
+    return null;
+  }
+
+  /**
+   * The sql which drops a temporary table created with getCreateTempTableSql(). It should not
+   * commit an open transaction of the connection. For databases where dropping a table always
+   * commits, the sql can delete the rows instead and the create sql has to tolerate an existing
+   * table.
+   *
+   * @param tableName the table name (see getTempTableName())
+   * @return the sql
+   */
+  default String getDropTempTableSql(String tableName) {
+    return "DROP TABLE " + tableName;
+  }
+
+  /**
+   * Whether an insert can return the generated id with a RETURNING clause.
+   *
+   * @return true if supported
+   */
+  default boolean supportsReturning() {
+    return false;
+  }
+
+  /**
+   * The clause appended to an insert to return the column.
+   *
+   * @param columnName the column name
+   * @return the clause
+   */
+  default String getReturningClause(String columnName) {
+    return " RETURNING " + columnName;
+  }
+
+  /**
+   * The maximum number of bind parameters in a single statement.
+   *
+   * @return the maximum bind parameters
+   */
+  default int getMaxBindParameters() {
+    return 2000;
+  }
+
+  /**
+   * Whether a single insert can have multiple rows (INSERT ... VALUES (...), (...)) and return the
+   * generated ids of all rows in order.
+   *
+   * @return true if supported
+   */
+  default boolean supportsMultiRowInsert() {
+    return false;
+  }
+
+  /**
+   * Whether the JDBC driver returns generated keys for batched inserts.
+   *
+   * @return true if supported
+   */
+  default boolean supportsBatchGeneratedKeys() {
+    return false;
+  }
+}
@@ -13,25 +13,34 @@
  */
 package io.github.jdbctemplatemapper.core;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.StringJoiner;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.PropertyAccessorFactory;
+import java.util.concurrent.Executor;
 import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.dao.EmptyResultDataAccessException;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
-import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
-import org.springframework.jdbc.core.simple.SimpleJdbcInsertOperations;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 import io.github.jdbctemplatemapper.exception.MapperException;
 import io.github.jdbctemplatemapper.exception.OptimisticLockingException;
 
@@ -55,16 +64,41 @@ public final class JdbcTemplateMapper {
 
   private static final int CACHEABLE_UPDATE_PROPERTIES_COUNT = 3;
 
+  private static final int DEFAULT_BATCH_SIZE = 1000;
+
+  private static final int DEFAULT_QUERY_MERGE_TEMP_TABLE_THRESHOLD = 10000;
+
   private final JdbcTemplate jdbcTemplate;
   private final NamedParameterJdbcTemplate npJdbcTemplate;
 
   private final MappingHelper mappingHelper;
   private IRecordOperatorResolver recordOperatorResolver;
 
-  // insert cache. Note that Spring SimpleJdbcInsert is thread safe.
+  // number of records sent to the database in a single JDBC batch
+  private int batchSize = DEFAULT_BATCH_SIZE;
+
+  // insertAll() of auto increment id objects uses multi row VALUES inserts
+  private boolean multiRowInsert = false;
+
+  // the maximum number of values in a single 'IN' clause when array parameters are not supported
+  private int inClauseChunkSize = MapperUtils.IN_CLAUSE_CHUNK_SIZE;
+
+  // when not null the 'IN' clause chunks of QueryMerge are queried concurrently on the executor
+  private Executor queryMergeExecutor;
+  private int queryMergeMaxParallelism = 1;
+
+  // QueryMerge joins against a temporary table when the number of values is above this
+  private int queryMergeTempTableThreshold = DEFAULT_QUERY_MERGE_TEMP_TABLE_THRESHOLD;
+
+  // insert sql cache
   // Map key - class name
-  // value - SimpleJdbcInsert
-  private SimpleCache<String, SimpleJdbcInsert> insertCache = new SimpleCache<>();
+  // value - the insert sql and params
+  private SimpleCache<String, SqlAndParams> insertCache = new SimpleCache<>();
+
+  // upsert sql cache
+  // Map key - class name
+  // value - the upsert sql and params
+  private SimpleCache<String, SqlAndParams> upsertCache = new SimpleCache<>();
 
   // update sql cache
   // Map key - class name
@@ -81,6 +115,11 @@ public final class JdbcTemplateMapper {
   // value - the column sql string
   private SimpleCache<String, String> beanColumnsSqlCache = new SimpleCache<>();
 
+  // findById() and findAll() row mapper cache. Note that ModelRowMapper is thread safe.
+  // Map key - class name
+  // value - the row mapper
+  private SimpleCache<String, ModelRowMapper<?>> rowMapperCache = new SimpleCache<>();
+
   // Query sql cache
   // Map key - see Query.getCacheKey()
   // value - the partial sql.
@@ -100,8 +139,6 @@ public final class JdbcTemplateMapper {
   private DefaultConversionService conversionService =
       (DefaultConversionService) DefaultConversionService.getSharedInstance();
 
-  private boolean includeSynonyms = false;
-
   /**
    * Constructor.
    *
@@ -134,7 +171,7 @@ public final class JdbcTemplateMapper {
 
     npJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
 
-    mappingHelper = new MappingHelper(jdbcTemplate, schemaName, catalogName);
+    mappingHelper = new MappingHelper(jdbcTemplate, schemaName, catalogName, conversionService);
   }
 
   /**
@@ -168,14 +205,127 @@ public final class JdbcTemplateMapper {
     return this;
   }
 
+  /**
+   * The maximum number of records sent to the database in a single JDBC batch by the batch methods
+   * like insertAll(). Defaults to 1000.
+   *
+   * @param batchSize the batch size
+   * @return The jdbcTemplateMapper The jdbcTemplateMapper
+   */
+  public JdbcTemplateMapper withBatchSize(int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("batchSize should be greater than 0");
+    }
+    this.batchSize = batchSize;
+    return this;
+  }
+
+  /**
+   * When enabled insertAll() of objects with auto increment ids issues multi row inserts (INSERT
+   * ... VALUES (...), (...) ...) and assigns the generated ids to the objects in order. The number
+   * of rows in an insert is limited by the batch size and the bind parameter limit of the database.
+   * Used when the dialect supports multi row inserts (PostgreSQL, MySQL, MariaDB and H2). For other
+   * databases insertAll() uses JDBC batching. Defaults to false.
+   *
+   * @param multiRowInsert true to enable
+   * @return The jdbcTemplateMapper The jdbcTemplateMapper
+   */
+  public JdbcTemplateMapper withMultiRowInsert(boolean multiRowInsert) {
+    this.multiRowInsert = multiRowInsert;
+    return this;
+  }
+
+  /**
+   * The maximum number of values in a single sql 'IN' clause used by findByIds(), deleteByIds() and
+   * QueryMerge. When there are more values multiple 'IN' queries are issued. Not used when the
+   * dialect supports array parameters (PostgreSQL and H2) since all the values are bound as a single
+   * array. Defaults to 100.
+   *
+   * @param inClauseChunkSize the chunk size
+   * @return The jdbcTemplateMapper The jdbcTemplateMapper
+   */
+  public JdbcTemplateMapper withInClauseChunkSize(int inClauseChunkSize) {
+    if (inClauseChunkSize < 1) {
+      throw new IllegalArgumentException("inClauseChunkSize should be greater than 0");
+    }
+    this.inClauseChunkSize = inClauseChunkSize;
+    return this;
+  }
+
+  /**
+   * When configured the related queries of QueryMerge run concurrently on the executor with at
+   * most maxParallelism queries running at a time. When multiple merges are executed together
+   * (QueryMerge.executeAll(), the hasMany() merges of Query and Graph) each merge is queried
+   * concurrently, for every dialect including the ones which support array parameters. Otherwise
+   * the 'IN' clause chunk queries of a single merge run concurrently, which only happens when the
+   * dialect does not support array parameters. The results are merged on the calling thread so they
+   * are the same as when the queries run one after another.
+   *
+   * <p>The concurrent queries run on the executor threads, each with its own connection, so they
+   * do not participate in the transaction of the caller and do not see its uncommitted changes.
+   * maxParallelism should be less than the connection pool size. The executor is not shutdown by
+   * the mapper.
+   *
+   * @param executor the executor. null to run the queries sequentially (the default)
+   * @param maxParallelism the maximum number of concurrent queries
+   * @return The jdbcTemplateMapper The jdbcTemplateMapper
+   */
+  public JdbcTemplateMapper withQueryMergeExecutor(Executor executor, int maxParallelism) {
+    if (maxParallelism < 1) {
+      throw new IllegalArgumentException("maxParallelism should be greater than 0");
+    }
+    this.queryMergeExecutor = executor;
+    this.queryMergeMaxParallelism = maxParallelism;
+    return this;
+  }
+
+  /**
+   * When the number of values QueryMerge has to match is above the threshold the values are batch
+   * inserted into a session temporary table and the related records are queried with a single
+   * statement using the temporary table instead of multiple 'IN' queries. Used when the dialect
+   * does not support array parameters but supports temporary tables (MySQL, MariaDB and SQL
+   * Server). Defaults to 10000.
+   *
+   * @param threshold the number of values above which a temporary table is used
+   * @return The jdbcTemplateMapper The jdbcTemplateMapper
+   */
+  public JdbcTemplateMapper withQueryMergeTempTableThreshold(int threshold) {
+    if (threshold < 0) {
+      throw new IllegalArgumentException("threshold cannot be negative");
+    }
+    this.queryMergeTempTableThreshold = threshold;
+    return this;
+  }
+
   /**
    * Oracle needs this to get the meta-data of table synonyms. Other databases don't need this.
    */
   public void includeSynonymsForTableColumnMetaData() {
-    this.includeSynonyms = true;
     mappingHelper.includeSynonyms();
   }
 
+  /**
+   * Configures the dialect used for the database specific sql. By default the dialect is selected
+   * using the database product name. See IDialect.
+   *
+   * @param dialect the dialect
+   * @return The jdbcTemplateMapper The jdbcTemplateMapper
+   */
+  public JdbcTemplateMapper withDialect(IDialect dialect) {
+    Assert.notNull(dialect, "dialect must not be null");
+    mappingHelper.setDialect(dialect);
+    return this;
+  }
+
+  /**
+   * Get the dialect used for the database specific sql.
+   *
+   * @return the dialect
+   */
+  public IDialect getDialect() {
+    return mappingHelper.getDialect();
+  }
+
   /**
    * Get the schema name.
    *
@@ -219,7 +369,7 @@ public final class JdbcTemplateMapper {
     String sql = "SELECT " + columnsSql + " FROM " + tableMapping.fullyQualifiedTableName()
         + " WHERE " + tableMapping.getIdColumnName() + " = ?";
 
-    RowMapper<T> mapper = BeanPropertyRowMapper.newInstance(clazz);
+    RowMapper<T> mapper = getModelRowMapper(tableMapping, clazz);
 
     try {
       Object obj = jdbcTemplate.queryForObject(sql, mapper, id);
@@ -229,6 +379,76 @@ public final class JdbcTemplateMapper {
     }
   }
 
+  /**
+   * Finds the objects by ids. The objects are returned in the order of the ids. Ids which are not
+   * found are skipped. See findByIdsAsMap().
+   *
+   * @param <T> the type
+   * @param clazz Class of object
+   * @param ids ids of the objects
+   * @return List of objects of type T
+   */
+  public <T> List<T> findByIds(Class<T> clazz, Collection<?> ids) {
+    return new ArrayList<>(findByIdsAsMap(clazz, ids).values());
+  }
+
+  /**
+   * Finds the objects by ids. The map entries are in the order of the ids. Ids which are not found
+   * are skipped. For databases whose dialect supports array parameters of the id column type
+   * (PostgreSQL, H2) a single query with the ids bound as an array is issued. Otherwise the ids are
+   * split into chunks of inClauseChunkSize (see withInClauseChunkSize(), defaults to 100) and a
+   * query with an IN clause is issued for every chunk.
+   *
+   * @param <T> the type
+   * @param clazz Class of object
+   * @param ids ids of the objects
+   * @return Map with key the id and value the object of type T
+   */
+  public <T> Map<Object, T> findByIdsAsMap(Class<T> clazz, Collection<?> ids) {
+    Assert.notNull(clazz, "Class must not be null");
+    Assert.notNull(ids, "ids must not be null");
+
+    TableMapping tableMapping = mappingHelper.getTableMapping(clazz);
+    List<Object> idList = toIdList(tableMapping, ids);
+    Map<Object, T> idToObjMap = new LinkedHashMap<>(idList.size());
+    if (idList.isEmpty()) {
+      return idToObjMap;
+    }
+
+    String columnsSql = getBeanColumnsSqlInternal(tableMapping, clazz);
+    String sql = "SELECT " + columnsSql + " FROM " + tableMapping.fullyQualifiedTableName()
+        + " WHERE ";
+    RowMapper<T> mapper = getModelRowMapper(tableMapping, clazz);
+
+    Map<Object, T> resultMap = new HashMap<>(idList.size());
+    IDialect dialect = mappingHelper.getDialect();
+    if (useArrayParameter(tableMapping.getIdPropertyMapping().getColumnSqlDataType())) {
+      // a single statement with all the ids bound as an array
+      String arraySql =
+          sql + dialect.getArrayParameterCondition(tableMapping.getIdColumnName());
+      for (T obj : jdbcTemplate.query(arraySql, ps -> bindIdArray(ps, tableMapping, idList),
+          mapper)) {
+        resultMap.put(tableMapping.getIdValue(obj), obj);
+      }
+    } else {
+      String inSql = sql + tableMapping.getIdColumnName() + " IN (:ids)";
+      for (List<?> chunk : MapperUtils.chunkAndPad(idList, inClauseChunkSize)) {
+        for (T obj : npJdbcTemplate.query(inSql, new MapSqlParameterSource("ids", chunk),
+            mapper)) {
+          resultMap.put(tableMapping.getIdValue(obj), obj);
+        }
+      }
+    }
+    // retain the order of the ids
+    for (Object id : idList) {
+      T obj = resultMap.get(id);
+      if (obj != null) {
+        idToObjMap.put(id, obj);
+      }
+    }
+    return idToObjMap;
+  }
+
   /**
    * Find all objects.
    *
@@ -270,7 +490,7 @@ public final class JdbcTemplateMapper {
       sql = sql + " ORDER BY " + orderByColumnName + " ASC";
     }
 
-    RowMapper<T> mapper = BeanPropertyRowMapper.newInstance(clazz);
+    RowMapper<T> mapper = getModelRowMapper(tableMapping, clazz);
     return jdbcTemplate.query(sql, mapper);
   }
 
@@ -295,90 +515,258 @@ public final class JdbcTemplateMapper {
     Assert.notNull(obj, "Object must not be null");
 
     TableMapping tableMapping = mappingHelper.getTableMapping(obj.getClass());
-    BeanWrapper bw = getBeanWrapper(obj);
-    Object idValue = bw.getPropertyValue(tableMapping.getIdPropertyName());
+    prepareForInsert(obj, tableMapping, LocalDateTime.now(), "insert()");
+
+    boolean foundInCache = false;
+    SqlAndParams sqlAndParams = insertCache.get(obj.getClass().getName());
+    if (sqlAndParams == null) {
+      sqlAndParams = buildSqlAndParamsForInsert(tableMapping);
+    } else {
+      foundInCache = true;
+    }
+
+    String sql = sqlAndParams.getSql();
+    SqlAndParams insertSqlAndParams = sqlAndParams;
+    IDialect dialect = mappingHelper.getDialect();
+    if (tableMapping.isIdAutoIncrement() && dialect.supportsReturning()) {
+      // the generated id is read from the result set of the insert. No generated keys handling.
+      Object id = jdbcTemplate.query(
+          sql + dialect.getReturningClause(tableMapping.getIdColumnName()),
+          ps -> insertSqlAndParams.bind(ps, obj, null), rs -> rs.next() ? rs.getObject(1) : null);
+      if (id == null) {
+        throw new MapperException(
+            "Unable to retrieve the generated id for the insert of " + obj.getClass().getName());
+      }
+      tableMapping.getIdPropertyMapping().getPropertyAccessor().setValue(obj, id);
+    } else if (tableMapping.isIdAutoIncrement()) {
+      KeyHolder keyHolder = new GeneratedKeyHolder();
+      jdbcTemplate.update(con -> {
+        PreparedStatement ps =
+            con.prepareStatement(sql, new String[] {tableMapping.getIdColumnName()});
+        insertSqlAndParams.bind(ps, obj, null);
+        return ps;
+      }, keyHolder);
+      Number idNumber = keyHolder.getKey();
+      if (idNumber == null) {
+        throw new MapperException(
+            "Unable to retrieve the generated id for the insert of " + obj.getClass().getName());
+      }
+      // set object id value
+      tableMapping.getIdPropertyMapping().getPropertyAccessor().setValue(obj, idNumber);
+    } else {
+      jdbcTemplate.update(sql, ps -> insertSqlAndParams.bind(ps, obj, null));
+    }
+
+    if (!foundInCache) {
+      insertCache.put(obj.getClass().getName(), sqlAndParams);
+    }
+  }
+
+  /**
+   * Inserts the objects using JDBC batching. All objects have to be of the same type. Objects with
+   * auto increment id will have their id set to the new id from the database when the JDBC driver
+   * supports returning generated keys for batches. For non auto increment id the ids have to be
+   * manually set before invoking insertAll(). The records are sent to the database in batches of
+   * the configured batch size, see withBatchSize().
+   *
+   * <pre>
+   * Will handle the following annotations same as insert():
+   * &#64;CreatedOn property will be assigned current date and time
+   * &#64;CreatedBy if IRecordOperaterrResolver is configured with JdbcTemplateMapper the property 
+   *      will be assigned that value
+   * &#64;UpdatedOn property will be assigned current date and time
+   * &#64;UpdatedBy if IRecordOperaterrResolver is configured with JdbcTemplateMapper the property
+   *                will be assigned that value
+   * &#64;Version property will be set to 1. Used for optimistic locking.
+   * </pre>
+   *
+   * @param objs The objects to be saved
+   */
+  public void insertAll(List<?> objs) {
+    Assert.notNull(objs, "objs must not be null");
+    if (objs.isEmpty()) {
+      return;
+    }
+    Class<?> clazz = validateBatchObjects(objs);
+
+    TableMapping tableMapping = mappingHelper.getTableMapping(clazz);
+    LocalDateTime now = LocalDateTime.now();
+    for (Object obj : objs) {
+      prepareForInsert(obj, tableMapping, now, "insertAll()");
+    }
+
+    boolean foundInCache = false;
+    SqlAndParams sqlAndParams = insertCache.get(clazz.getName());
+    if (sqlAndParams == null) {
+      sqlAndParams = buildSqlAndParamsForInsert(tableMapping);
+    } else {
+      foundInCache = true;
+    }
+
+    int multiRowInsertRows = getMultiRowInsertRows(tableMapping, sqlAndParams);
+    if (multiRowInsertRows > 1) {
+      multiRowInsert(objs, sqlAndParams, tableMapping, multiRowInsertRows);
+    } else {
+      batchInsert(objs, sqlAndParams, tableMapping);
+    }
+
+    if (!foundInCache) {
+      insertCache.put(clazz.getName(), sqlAndParams);
+    }
+  }
+
+  private void batchInsert(List<?> objs, SqlAndParams sqlAndParams, TableMapping tableMapping) {
+    String sql = sqlAndParams.getSql();
+    boolean idAutoIncrement = tableMapping.isIdAutoIncrement()
+        && mappingHelper.getDialect().supportsBatchGeneratedKeys();
+    ModelPropertyAccessor idAccessor = tableMapping.getIdPropertyMapping().getPropertyAccessor();
+    jdbcTemplate.execute((Connection con) -> idAutoIncrement
+        ? con.prepareStatement(sql, new String[] {tableMapping.getIdColumnName()})
+        : con.prepareStatement(sql), (PreparedStatement ps) -> {
+          for (List<?> batch : MapperUtils.chunkTheList(objs, batchSize)) {
+            for (Object obj : batch) {
+              sqlAndParams.bind(ps, obj, null);
+              ps.addBatch();
+            }
+            ps.executeBatch();
+            if (idAutoIncrement) {
+              assignGeneratedIds(ps, batch, idAccessor);
+            }
+          }
+          return null;
+        });
+  }
+
+  // inserts multiple rows with a single INSERT ... VALUES (...), (...) statement. The generated ids
+  // are returned in the order of the rows.
+  private void multiRowInsert(List<?> objs, SqlAndParams sqlAndParams, TableMapping tableMapping,
+      int rowsPerInsert) {
+    int paramCount = sqlAndParams.getParams().length;
+    String[] idColumn = new String[] {tableMapping.getIdColumnName()};
+    ModelPropertyAccessor idAccessor = tableMapping.getIdPropertyMapping().getPropertyAccessor();
+    jdbcTemplate.execute((Connection con) -> {
+      PreparedStatement ps = null;
+      int psRows = 0;
+      try {
+        for (List<?> rows : MapperUtils.chunkTheList(objs, rowsPerInsert)) {
+          if (ps == null || psRows != rows.size()) {
+            JdbcUtils.closeStatement(ps);
+            ps = con.prepareStatement(multiRowInsertSql(sqlAndParams, rows.size()), idColumn);
+            psRows = rows.size();
+          }
+          for (int i = 0; i < rows.size(); i++) {
+            sqlAndParams.bind(ps, i * paramCount, rows.get(i), null);
+          }
+          ps.executeUpdate();
+          try (ResultSet rs = ps.getGeneratedKeys()) {
+            int i = 0;
+            while (rs.next() && i < rows.size()) {
+              idAccessor.setValue(rows.get(i), rs.getObject(1));
+              i++;
+            }
+            if (i != rows.size()) {
+              throw new MapperException("Multi row insert returned " + i
+                  + " generated ids for " + rows.size() + " rows of "
+                  + tableMapping.getTableClassName());
+            }
+          }
+        }
+      } finally {
+        JdbcUtils.closeStatement(ps);
+      }
+      return null;
+    });
+  }
+
+  private String multiRowInsertSql(SqlAndParams sqlAndParams, int rows) {
+    StringJoiner valuesGroup = new StringJoiner(", ", "(", ")");
+    for (int i = 0; i < sqlAndParams.getParams().length; i++) {
+      valuesGroup.add("?");
+    }
+    // the single row insert sql ends with the values group
+    StringBuilder sb = new StringBuilder(sqlAndParams.getSql());
+    for (int i = 1; i < rows; i++) {
+      sb.append(", ").append(valuesGroup);
+    }
+    return sb.toString();
+  }
+
+  // returns the number of rows for a multi row insert. 0 if multi row insert is not applicable.
+  private int getMultiRowInsertRows(TableMapping tableMapping, SqlAndParams sqlAndParams) {
+    if (!multiRowInsert || !tableMapping.isIdAutoIncrement()) {
+      return 0;
+    }
+    IDialect dialect = mappingHelper.getDialect();
+    if (!dialect.supportsMultiRowInsert()) {
+      return 0;
+    }
+    return Math.min(batchSize, dialect.getMaxBindParameters() / sqlAndParams.getParams().length);
+  }
+
+  // the dialect claims support for generated keys for batches. If the driver does not return them
+  // the ids are not assigned. A SQLException is propagated to the callback so that JdbcTemplate
+  // translates it.
+  private void assignGeneratedIds(PreparedStatement ps, List<?> batch,
+      ModelPropertyAccessor idAccessor) throws SQLException {
+    try (ResultSet rs = ps.getGeneratedKeys()) {
+      int i = 0;
+      while (rs != null && rs.next() && i < batch.size()) {
+        Object id = rs.getObject(1);
+        if (id != null) {
+          idAccessor.setValue(batch.get(i), id);
+        }
+        i++;
+      }
+    }
+  }
+
+  private void prepareForInsert(Object obj, TableMapping tableMapping, LocalDateTime now,
+      String methodName) {
+    Object idValue = tableMapping.getIdValue(obj);
     if (tableMapping.isIdAutoIncrement()) {
       if (idValue != null) {
-        throw new MapperException("For insert() the property " + obj.getClass().getSimpleName()
+        throw new MapperException("For " + methodName + " the property "
+            + obj.getClass().getSimpleName()
             + "." + tableMapping.getIdPropertyName()
             + " has to be null since this insert is for an object whose id is auto increment.");
       }
     } else {
       if (idValue == null) {
-        throw new MapperException("For insert() the property " + obj.getClass().getSimpleName()
+        throw new MapperException("For " + methodName + " the property "
+            + obj.getClass().getSimpleName()
             + "." + tableMapping.getIdPropertyName()
             + " cannot be null since it is not an auto increment id");
       }
     }
 
     if (tableMapping.hasAutoAssignProperties()) {
-      LocalDateTime now = LocalDateTime.now();
-
       PropertyMapping createdOnPropMapping = tableMapping.getCreatedOnPropertyMapping();
       if (createdOnPropMapping != null) {
-        bw.setPropertyValue(createdOnPropMapping.getPropertyName(), now);
+        createdOnPropMapping.getPropertyAccessor().setValue(obj, now);
       }
 
       PropertyMapping updatedOnPropMapping = tableMapping.getUpdatedOnPropertyMapping();
       if (updatedOnPropMapping != null) {
-        bw.setPropertyValue(updatedOnPropMapping.getPropertyName(), now);
+        updatedOnPropMapping.getPropertyAccessor().setValue(obj, now);
       }
 
       PropertyMapping createdByPropMapping = tableMapping.getCreatedByPropertyMapping();
       if (createdByPropMapping != null && recordOperatorResolver != null) {
-        bw.setPropertyValue(createdByPropMapping.getPropertyName(),
-            recordOperatorResolver.getRecordOperator());
+        createdByPropMapping.getPropertyAccessor()
+                            .setValue(obj, recordOperatorResolver.getRecordOperator());
       }
 
       PropertyMapping updatedByPropMapping = tableMapping.getUpdatedByPropertyMapping();
       if (updatedByPropMapping != null && recordOperatorResolver != null) {
-        bw.setPropertyValue(updatedByPropMapping.getPropertyName(),
-            recordOperatorResolver.getRecordOperator());
+        updatedByPropMapping.getPropertyAccessor()
+                            .setValue(obj, recordOperatorResolver.getRecordOperator());
       }
 
       PropertyMapping versionPropMapping = tableMapping.getVersionPropertyMapping();
       if (versionPropMapping != null) {
         // version property value defaults to 1 on inserts
-        bw.setPropertyValue(versionPropMapping.getPropertyName(), 1);
-      }
-    }
-
-    MapSqlParameterSource mapSqlParameterSource = new MapSqlParameterSource();
-    for (PropertyMapping propMapping : tableMapping.getPropertyMappings()) {
-      mapSqlParameterSource.addValue(propMapping.getColumnName(),
-          bw.getPropertyValue(propMapping.getPropertyName()));
-    }
-
-    boolean foundInCache = false;
-    SimpleJdbcInsertOperations jdbcInsert = insertCache.get(obj.getClass().getName());
-    if (jdbcInsert == null) {
-      jdbcInsert =
-          new SimpleJdbcInsert(jdbcTemplate).withCatalogName(tableMapping.getCatalogName())
-                                            .withSchemaName(tableMapping.getSchemaName())
-                                            .withTableName(
-                                                tableNameForSimpleJdbcInsert(tableMapping));
-
-      if (tableMapping.isIdAutoIncrement()) {
-        jdbcInsert.usingGeneratedKeyColumns(tableMapping.getIdColumnName());
+        versionPropMapping.getPropertyAccessor().setValue(obj, 1);
       }
-      // for oracle synonym table metadata
-      if (includeSynonyms) {
-        jdbcInsert.includeSynonymsForTableColumnMetaData();
-      }
-    } else {
-      foundInCache = true;
-    }
-
-    if (tableMapping.isIdAutoIncrement()) {
-      Number idNumber = jdbcInsert.executeAndReturnKey(mapSqlParameterSource);
-      bw.setPropertyValue(tableMapping.getIdPropertyName(), idNumber); // set object id value
-    } else {
-      jdbcInsert.execute(mapSqlParameterSource);
-    }
-
-    if (!foundInCache) {
-      // SimpleJdbcInsert is thread safe.
-      insertCache.put(obj.getClass().getName(), (SimpleJdbcInsert) jdbcInsert);
     }
   }
 
@@ -470,71 +858,362 @@ public final class JdbcTemplateMapper {
     Assert.notNull(obj, "Object must not be null");
     Assert.notNull(sqlAndParams, "sqlAndParams must not be null");
 
-    BeanWrapper bw = getBeanWrapper(obj);
+    Integer incrementedVersion =
+        prepareForUpdate(obj, sqlAndParams, tableMapping, LocalDateTime.now());
+
+    int cnt = jdbcTemplate.update(sqlAndParams.getSql(),
+        ps -> sqlAndParams.bind(ps, obj, incrementedVersion));
+
+    // if object has property version the version gets incremented on update.
+    // throws OptimisticLockingException when update fails.
+    if (sqlAndParams.hasIncrementedVersion()) {
+      PropertyMapping versionPropMapping = tableMapping.getVersionPropertyMapping();
+      if (cnt == 0) {
+        throw new OptimisticLockingException(obj.getClass().getSimpleName()
+            + " update failed due to stale data. Failed for " + tableMapping.getIdColumnName()
+            + " = " + tableMapping.getIdValue(obj) + " and " + versionPropMapping.getColumnName()
+            + " = " + versionPropMapping.getPropertyAccessor().getValue(obj));
+      }
+      // update the version in object with new version
+      versionPropMapping.getPropertyAccessor().setValue(obj, incrementedVersion);
+    }
+
+    return cnt;
+  }
+
+  /**
+   * Updates the objects using JDBC batching. All objects have to be of the same type. Same as
+   * update() except that objects which fail optimistic locking do not abort the update of the
+   * other objects. They are returned instead. The records are sent to the database in batches of
+   * the configured batch size, see withBatchSize().
+   *
+   * <pre>
+   * Will handle the following annotations:
+   * &#64;UpdatedOn property will be assigned current date and time
+   * &#64;UpdatedBy if IRecordOperaterrResolver is configured with JdbcTemplateMapper the property 
+   *                will be assigned that value
+   * &#64;Version property will be incremented for the objects which were updated successfully.
+   * </pre>
+   *
+   * @param <T> the type
+   * @param objs objects to be updated
+   * @return the objects whose update failed due to stale data (&#64;Version). Empty list if all
+   *         updates succeeded.
+   */
+  public <T> List<T> updateAll(List<T> objs) {
+    Assert.notNull(objs, "objs must not be null");
+    if (objs.isEmpty()) {
+      return new ArrayList<>();
+    }
+    Class<?> clazz = validateBatchObjects(objs);
+    TableMapping tableMapping = mappingHelper.getTableMapping(clazz);
+
+    boolean foundInCache = false;
+    SqlAndParams sqlAndParams = updateCache.get(clazz.getName());
+    if (sqlAndParams == null) {
+      sqlAndParams = buildSqlAndParamsForUpdate(tableMapping);
+    } else {
+      foundInCache = true;
+    }
+
+    List<T> staleObjs = updateAllInternal(objs, sqlAndParams, tableMapping);
+
+    if (!foundInCache) {
+      updateCache.put(clazz.getName(), sqlAndParams);
+    }
+    return staleObjs;
+  }
+
+  /**
+   * Updates the specified properties of the objects using JDBC batching. All objects have to be of
+   * the same type. Same as updateProperties() except that objects which fail optimistic locking do
+   * not abort the update of the other objects. They are returned instead. The records are sent to
+   * the database in batches of the configured batch size, see withBatchSize().
+   *
+   * @param <T> the type
+   * @param objs objects to be updated
+   * @param propertyNames the specific property names that need to be updated.
+   * @return the objects whose update failed due to stale data (&#64;Version). Empty list if all
+   *         updates succeeded.
+   */
+  public <T> List<T> updatePropertiesAll(List<T> objs, String... propertyNames) {
+    Assert.notNull(objs, "objs must not be null");
+    Assert.notNull(propertyNames, "propertyNames must not be null");
+    if (objs.isEmpty()) {
+      return new ArrayList<>();
+    }
+    Class<?> clazz = validateBatchObjects(objs);
+    TableMapping tableMapping = mappingHelper.getTableMapping(clazz);
+
+    boolean foundInCache = false;
+    SqlAndParams sqlAndParams = null;
+    String cacheKey = getUpdatePropertiesCacheKey(objs.get(0), propertyNames);
+    if (cacheKey != null) {
+      sqlAndParams = updatePropertiesCache.get(cacheKey);
+    }
+    if (sqlAndParams == null) {
+      sqlAndParams = buildSqlAndParamsForUpdateProperties(tableMapping, propertyNames);
+    } else {
+      foundInCache = true;
+    }
+
+    List<T> staleObjs = updateAllInternal(objs, sqlAndParams, tableMapping);
+
+    if (cacheKey != null && !foundInCache) {
+      updatePropertiesCache.put(cacheKey, sqlAndParams);
+    }
+    return staleObjs;
+  }
+
+  /**
+   * Inserts the object if a record with its id does not exist otherwise updates the record. Issues
+   * a single statement generated for the database (ON CONFLICT for PostgreSQL, ON DUPLICATE KEY
+   * UPDATE for MySQL/MariaDB and MERGE for Oracle, SQL Server and H2). For objects with auto
+   * increment ids a null id results in an insert() and a non null id in an upsert using that id.
+   *
+   * <pre>
+   * Will handle the following annotations:
+   * &#64;CreatedOn, &#64;CreatedBy are assigned only if they are null and are only written to the
+   *                database when the record gets inserted.
+   * &#64;UpdatedOn, &#64;UpdatedBy are assigned and written for both insert and update.
+   * &#64;Version a null version means the record is expected to be new and it is inserted with
+   *                version 1. Otherwise the existing record is updated only if its version matches
+   *                and the version is incremented. OptimisticLockingException is thrown if the
+   *                record is stale. Not supported for MySQL/MariaDB.
+   * </pre>
+   *
+   * @param obj object to be upserted
+   * @return number of records affected as reported by the database
+   */
+  public Integer upsert(Object obj) {
+    Assert.notNull(obj, "Object must not be null");
+
+    TableMapping tableMapping = mappingHelper.getTableMapping(obj.getClass());
+    if (tableMapping.isIdAutoIncrement() && tableMapping.getIdValue(obj) == null) {
+      insert(obj);
+      return 1;
+    }
+
+    boolean foundInCache = false;
+    SqlAndParams sqlAndParams = upsertCache.get(obj.getClass().getName());
+    if (sqlAndParams == null) {
+      sqlAndParams = buildSqlAndParamsForUpsert(tableMapping);
+    } else {
+      foundInCache = true;
+    }
+
+    Integer incrementedVersion = prepareForUpsert(obj, tableMapping, LocalDateTime.now());
+    SqlAndParams upsertSqlAndParams = sqlAndParams;
+    int cnt = jdbcTemplate.update(sqlAndParams.getSql(),
+        ps -> upsertSqlAndParams.bind(ps, obj, incrementedVersion));
+
+    if (sqlAndParams.hasIncrementedVersion()) {
+      PropertyMapping versionPropMapping = tableMapping.getVersionPropertyMapping();
+      if (cnt == 0) {
+        throw new OptimisticLockingException(obj.getClass().getSimpleName()
+            + " upsert failed due to stale data. Failed for " + tableMapping.getIdColumnName()
+            + " = " + tableMapping.getIdValue(obj) + " and " + versionPropMapping.getColumnName()
+            + " = " + versionPropMapping.getPropertyAccessor().getValue(obj));
+      }
+      versionPropMapping.getPropertyAccessor().setValue(obj, incrementedVersion);
+    }
+
+    if (!foundInCache) {
+      upsertCache.put(obj.getClass().getName(), sqlAndParams);
+    }
+    return cnt;
+  }
+
+  /**
+   * Upserts the objects using JDBC batching. All objects have to be of the same type. Same as
+   * upsert() except that objects which fail optimistic locking do not abort the upsert of the other
+   * objects. They are returned instead. Objects with null auto increment ids are inserted using
+   * insertAll().
+   *
+   * @param <T> the type
+   * @param objs objects to be upserted
+   * @return the objects whose upsert failed due to stale data (&#64;Version). Empty list if all
+   *         upserts succeeded.
+   */
+  public <T> List<T> upsertAll(List<T> objs) {
+    Assert.notNull(objs, "objs must not be null");
+    if (objs.isEmpty()) {
+      return new ArrayList<>();
+    }
+    Class<?> clazz = validateBatchObjects(objs);
+    TableMapping tableMapping = mappingHelper.getTableMapping(clazz);
+
+    List<T> upsertObjs = objs;
+    if (tableMapping.isIdAutoIncrement()) {
+      List<T> insertObjs = new ArrayList<>();
+      upsertObjs = new ArrayList<>();
+      for (T obj : objs) {
+        if (tableMapping.getIdValue(obj) == null) {
+          insertObjs.add(obj);
+        } else {
+          upsertObjs.add(obj);
+        }
+      }
+      if (!insertObjs.isEmpty()) {
+        insertAll(insertObjs);
+      }
+      if (upsertObjs.isEmpty()) {
+        return new ArrayList<>();
+      }
+    }
+
+    boolean foundInCache = false;
+    SqlAndParams sqlAndParams = upsertCache.get(clazz.getName());
+    if (sqlAndParams == null) {
+      sqlAndParams = buildSqlAndParamsForUpsert(tableMapping);
+    } else {
+      foundInCache = true;
+    }
+
+    LocalDateTime now = LocalDateTime.now();
+    Integer[] incrementedVersions = new Integer[upsertObjs.size()];
+    for (int i = 0; i < upsertObjs.size(); i++) {
+      incrementedVersions[i] = prepareForUpsert(upsertObjs.get(i), tableMapping, now);
+    }
+    List<T> staleObjs =
+        executeVersionedBatch(upsertObjs, sqlAndParams, tableMapping, incrementedVersions);
+
+    if (!foundInCache) {
+      upsertCache.put(clazz.getName(), sqlAndParams);
+    }
+    return staleObjs;
+  }
 
-    if (bw.getPropertyValue(tableMapping.getIdPropertyName()) == null) {
+  // validates the object and assigns the auto assign properties. Returns the version the record
+  // will have after the upsert. null if there is no version property.
+  private Integer prepareForUpsert(Object obj, TableMapping tableMapping, LocalDateTime now) {
+    if (tableMapping.getIdValue(obj) == null) {
       throw new IllegalArgumentException("Property " + tableMapping.getTableClassName() + "."
           + tableMapping.getIdPropertyName() + " is the id and cannot be null.");
     }
 
-    Set<String> parameters = sqlAndParams.getParams();
+    if (tableMapping.hasAutoAssignProperties()) {
+      // the created properties are not written when an existing record is updated so values which
+      // are already set (for example of an object read from the database) are left alone.
+      PropertyMapping createdOnPropMapping = tableMapping.getCreatedOnPropertyMapping();
+      if (createdOnPropMapping != null
+          && createdOnPropMapping.getPropertyAccessor().getValue(obj) == null) {
+        createdOnPropMapping.getPropertyAccessor().setValue(obj, now);
+      }
+
+      PropertyMapping updatedOnPropMapping = tableMapping.getUpdatedOnPropertyMapping();
+      if (updatedOnPropMapping != null) {
+        updatedOnPropMapping.getPropertyAccessor().setValue(obj, now);
+      }
+
+      PropertyMapping createdByPropMapping = tableMapping.getCreatedByPropertyMapping();
+      if (createdByPropMapping != null && recordOperatorResolver != null
+          && createdByPropMapping.getPropertyAccessor().getValue(obj) == null) {
+        createdByPropMapping.getPropertyAccessor()
+                            .setValue(obj, recordOperatorResolver.getRecordOperator());
+      }
+
+      PropertyMapping updatedByPropMapping = tableMapping.getUpdatedByPropertyMapping();
+      if (updatedByPropMapping != null && recordOperatorResolver != null) {
+        updatedByPropMapping.getPropertyAccessor()
+                            .setValue(obj, recordOperatorResolver.getRecordOperator());
+      }
+
+      PropertyMapping versionPropMapping = tableMapping.getVersionPropertyMapping();
+      if (versionPropMapping != null) {
+        Integer versionVal = (Integer) versionPropMapping.getPropertyAccessor().getValue(obj);
+        return versionVal == null ? 1 : versionVal + 1;
+      }
+    }
+    return null;
+  }
+
+  private <T> List<T> updateAllInternal(List<T> objs, SqlAndParams sqlAndParams,
+      TableMapping tableMapping) {
+    LocalDateTime now = LocalDateTime.now();
+    Integer[] incrementedVersions = new Integer[objs.size()];
+    for (int i = 0; i < objs.size(); i++) {
+      incrementedVersions[i] = prepareForUpdate(objs.get(i), sqlAndParams, tableMapping, now);
+    }
+    return executeVersionedBatch(objs, sqlAndParams, tableMapping, incrementedVersions);
+  }
+
+  // executes the sql as JDBC batches. For sql which increments the version, objects with an update
+  // count of 0 are returned as stale and the others get their version incremented. Stale objects
+  // cannot be detected if the driver does not report the update counts so that fails.
+  private <T> List<T> executeVersionedBatch(List<T> objs, SqlAndParams sqlAndParams,
+      TableMapping tableMapping, Integer[] incrementedVersions) {
+    List<T> staleObjs = new ArrayList<>();
+    jdbcTemplate.execute(sqlAndParams.getSql(), (PreparedStatement ps) -> {
+      for (int start = 0; start < objs.size(); start += batchSize) {
+        int end = Math.min(start + batchSize, objs.size());
+        for (int i = start; i < end; i++) {
+          sqlAndParams.bind(ps, objs.get(i), incrementedVersions[i]);
+          ps.addBatch();
+        }
+        int[] counts = ps.executeBatch();
+        if (sqlAndParams.hasIncrementedVersion()) {
+          for (int count : counts) {
+            if (count == Statement.SUCCESS_NO_INFO) {
+              throw new MapperException("The JDBC driver did not report the update counts of the"
+                  + " batch (Statement.SUCCESS_NO_INFO) so the stale records of "
+                  + tableMapping.getTableClassName()
+                  + " cannot be detected. The batch was executed and the transaction should be"
+                  + " rolled back. Configure the driver to report update counts.");
+            }
+          }
+          ModelPropertyAccessor versionAccessor =
+              tableMapping.getVersionPropertyMapping().getPropertyAccessor();
+          for (int i = start; i < end; i++) {
+            if (counts[i - start] == 0) {
+              staleObjs.add(objs.get(i));
+            } else {
+              versionAccessor.setValue(objs.get(i), incrementedVersions[i]);
+            }
+          }
+        }
+      }
+      return null;
+    });
+    return staleObjs;
+  }
+
+  // validates the object and assigns the auto assign properties. Returns the incremented version
+  // if the sql updates the version otherwise null.
+  private Integer prepareForUpdate(Object obj, SqlAndParams sqlAndParams,
+      TableMapping tableMapping, LocalDateTime now) {
+    if (tableMapping.getIdValue(obj) == null) {
+      throw new IllegalArgumentException("Property " + tableMapping.getTableClassName() + "."
+          + tableMapping.getIdPropertyName() + " is the id and cannot be null.");
+    }
 
     if (tableMapping.hasAutoAssignProperties()) {
       PropertyMapping updatedByPropMapping = tableMapping.getUpdatedByPropertyMapping();
       if (updatedByPropMapping != null && recordOperatorResolver != null
-          && parameters.contains(updatedByPropMapping.getPropertyName())) {
-        bw.setPropertyValue(updatedByPropMapping.getPropertyName(),
-            recordOperatorResolver.getRecordOperator());
+          && sqlAndParams.containsParam(updatedByPropMapping.getPropertyName())) {
+        updatedByPropMapping.getPropertyAccessor()
+                            .setValue(obj, recordOperatorResolver.getRecordOperator());
       }
 
       PropertyMapping updatedOnPropMapping = tableMapping.getUpdatedOnPropertyMapping();
       if (updatedOnPropMapping != null
-          && parameters.contains(updatedOnPropMapping.getPropertyName())) {
-        bw.setPropertyValue(updatedOnPropMapping.getPropertyName(), LocalDateTime.now());
-      }
-    }
-
-    MapSqlParameterSource mapSqlParameterSource = new MapSqlParameterSource();
-    for (String paramName : parameters) {
-      if (paramName.equals("incrementedVersion")) {
-        Integer versionVal = (Integer) bw.getPropertyValue(
-            tableMapping.getVersionPropertyMapping().getPropertyName());
-        if (versionVal == null) {
-          throw new MapperException(obj.getClass().getSimpleName() + "."
-              + tableMapping.getVersionPropertyMapping().getPropertyName()
-              + " is configured with annotation @Version. Property "
-              + tableMapping.getVersionPropertyMapping().getPropertyName()
-              + " cannot be null when updating.");
-        } else {
-          mapSqlParameterSource.addValue("incrementedVersion", versionVal + 1,
-              java.sql.Types.INTEGER);
-        }
-      } else {
-        mapSqlParameterSource.addValue(paramName, bw.getPropertyValue(paramName),
-            tableMapping.getPropertySqlType(paramName));
+          && sqlAndParams.containsParam(updatedOnPropMapping.getPropertyName())) {
+        updatedOnPropMapping.getPropertyAccessor().setValue(obj, now);
       }
     }
 
-    int cnt = -1;
-    // if object has property version the version gets incremented on update.
-    // throws OptimisticLockingException when update fails.
-    if (sqlAndParams.getParams().contains("incrementedVersion")) {
-      cnt = npJdbcTemplate.update(sqlAndParams.getSql(), mapSqlParameterSource);
-      if (cnt == 0) {
-        throw new OptimisticLockingException(obj.getClass().getSimpleName()
-            + " update failed due to stale data. Failed for " + tableMapping.getIdColumnName()
-            + " = " + bw.getPropertyValue(tableMapping.getIdPropertyName()) + " and "
-            + tableMapping.getVersionPropertyMapping().getColumnName() + " = "
-            + bw.getPropertyValue(tableMapping.getVersionPropertyMapping().getPropertyName()));
+    if (sqlAndParams.hasIncrementedVersion()) {
+      PropertyMapping versionPropMapping = tableMapping.getVersionPropertyMapping();
+      Integer versionVal = (Integer) versionPropMapping.getPropertyAccessor().getValue(obj);
+      if (versionVal == null) {
+        throw new MapperException(obj.getClass().getSimpleName() + "."
+            + versionPropMapping.getPropertyName()
+            + " is configured with annotation @Version. Property "
+            + versionPropMapping.getPropertyName() + " cannot be null when updating.");
       }
-      // update the version in object with new version
-      bw.setPropertyValue(tableMapping.getVersionPropertyMapping().getPropertyName(),
-          mapSqlParameterSource.getValue("incrementedVersion"));
-    } else {
-      cnt = npJdbcTemplate.update(sqlAndParams.getSql(), mapSqlParameterSource);
+      return versionVal + 1;
     }
-
-    return cnt;
+    return null;
   }
 
   /**
@@ -550,8 +1229,7 @@ public final class JdbcTemplateMapper {
 
     String sql = "DELETE FROM " + tableMapping.fullyQualifiedTableName() + " WHERE "
         + tableMapping.getIdColumnName() + "= ?";
-    BeanWrapper bw = getBeanWrapper(obj);
-    Object id = bw.getPropertyValue(tableMapping.getIdPropertyName());
+    Object id = tableMapping.getIdValue(obj);
     return jdbcTemplate.update(sql, id);
   }
 
@@ -572,6 +1250,41 @@ public final class JdbcTemplateMapper {
     return jdbcTemplate.update(sql, id);
   }
 
+  /**
+   * Deletes the objects from the database by ids. For databases whose dialect supports array
+   * parameters of the id column type (PostgreSQL, H2) a single delete with the ids bound as an
+   * array is issued. Otherwise the ids are split into chunks of inClauseChunkSize (see
+   * withInClauseChunkSize(), defaults to 100) and a delete with an IN clause is issued for every
+   * chunk.
+   *
+   * @param clazz Type of object to be deleted.
+   * @param ids Ids of objects to be deleted
+   * @return number records were deleted
+   */
+  public Integer deleteByIds(Class<?> clazz, Collection<?> ids) {
+    Assert.notNull(clazz, "Class must not be null");
+    Assert.notNull(ids, "ids must not be null");
+
+    TableMapping tableMapping = mappingHelper.getTableMapping(clazz);
+    List<Object> idList = toIdList(tableMapping, ids);
+    if (idList.isEmpty()) {
+      return 0;
+    }
+    IDialect dialect = mappingHelper.getDialect();
+    if (useArrayParameter(tableMapping.getIdPropertyMapping().getColumnSqlDataType())) {
+      String sql = "DELETE FROM " + tableMapping.fullyQualifiedTableName() + " WHERE "
+          + dialect.getArrayParameterCondition(tableMapping.getIdColumnName());
+      return jdbcTemplate.update(sql, ps -> bindIdArray(ps, tableMapping, idList));
+    }
+    String sql = "DELETE FROM " + tableMapping.fullyQualifiedTableName() + " WHERE "
+        + tableMapping.getIdColumnName() + " IN (:ids)";
+    int cnt = 0;
+    for (List<?> chunk : MapperUtils.chunkAndPad(idList, inClauseChunkSize)) {
+      cnt += npJdbcTemplate.update(sql, new MapSqlParameterSource("ids", chunk));
+    }
+    return cnt;
+  }
+
   /**
    * Gets a SelectMapper for the class and table alias.
    *
@@ -636,6 +1349,70 @@ public final class JdbcTemplateMapper {
     return mappingHelper.getTableMapping(clazz);
   }
 
+  private SqlAndParams buildSqlAndParamsForInsert(TableMapping tableMapping) {
+    Assert.notNull(tableMapping, "tableMapping must not be null");
+
+    List<PropertyMapping> params = new ArrayList<>();
+    StringJoiner columns = new StringJoiner(", ", "(", ")");
+    StringJoiner values = new StringJoiner(", ", "(", ")");
+    for (PropertyMapping propMapping : tableMapping.getPropertyMappings()) {
+      // auto increment id gets assigned by the database
+      if (propMapping.isIdAnnotation() && tableMapping.isIdAutoIncrement()) {
+        continue;
+      }
+      columns.add(propMapping.getColumnName());
+      values.add("?");
+      params.add(propMapping);
+    }
+
+    String insertSql = "INSERT INTO " + tableMapping.fullyQualifiedTableName() + " " + columns
+        + " VALUES " + values;
+
+    return new SqlAndParams(insertSql, params);
+  }
+
+  // The bind parameters of the upsert sql are the column values in the order of the property
+  // mappings (the version column gets the incremented version) followed by the current version of
+  // the object when the model has a &#64;Version property.
+  private SqlAndParams buildSqlAndParamsForUpsert(TableMapping tableMapping) {
+    Assert.notNull(tableMapping, "tableMapping must not be null");
+
+    PropertyMapping versionPropMapping = tableMapping.getVersionPropertyMapping();
+    List<PropertyMapping> params = new ArrayList<>();
+    int incrementedVersionParamIndex = -1;
+    List<String> columnNames = new ArrayList<>();
+    // the columns updated when the record exists
+    List<String> updateColumnNames = new ArrayList<>();
+    for (PropertyMapping propMapping : tableMapping.getPropertyMappings()) {
+      if (propMapping == versionPropMapping) {
+        incrementedVersionParamIndex = params.size();
+      }
+      params.add(propMapping);
+      columnNames.add(propMapping.getColumnName());
+      if (!propMapping.isIdAnnotation() && !propMapping.isCreatedOnAnnotation()
+          && !propMapping.isCreatedByAnnotation()) {
+        updateColumnNames.add(propMapping.getColumnName());
+      }
+    }
+
+    String sql = mappingHelper.getDialect()
+                              .getUpsertSql(tableMapping.fullyQualifiedTableName(),
+                                  tableMapping.getIdColumnName(), columnNames, updateColumnNames,
+                                  versionPropMapping == null ? null
+                                      : versionPropMapping.getColumnName());
+    if (sql == null) {
+      throw new MapperException("upsert is not supported for database "
+          + tableMapping.getCommonDatabaseName()
+          + (versionPropMapping == null ? "" : " for models with @Version") + ". "
+          + tableMapping.getTableClassName());
+    }
+
+    if (versionPropMapping != null && !updateColumnNames.isEmpty()) {
+      params.add(versionPropMapping);
+    }
+    return new SqlAndParams(sql, params, incrementedVersionParamIndex);
+  }
+
   private SqlAndParams buildSqlAndParamsForUpdate(TableMapping tableMapping) {
     Assert.notNull(tableMapping, "tableMapping must not be null");
 
@@ -651,7 +1428,8 @@ public final class JdbcTemplateMapper {
       ignoreAttrs.add(createdByPropMapping.getPropertyName());
     }
 
-    Set<String> params = new HashSet<>();
+    List<PropertyMapping> params = new ArrayList<>();
+    int incrementedVersionParamIndex = -1;
     StringBuilder sqlBuilder = new StringBuilder("UPDATE ");
     sqlBuilder.append(tableMapping.fullyQualifiedTableName());
     sqlBuilder.append(" SET ");
@@ -668,32 +1446,27 @@ public final class JdbcTemplateMapper {
         first = false;
       }
       sqlBuilder.append(propMapping.getColumnName());
-      sqlBuilder.append(" = :");
+      sqlBuilder.append(" = ?");
 
       if (versionPropMapping != null
           && propMapping.getPropertyName().equals(versionPropMapping.getPropertyName())) {
-        sqlBuilder.append("incrementedVersion");
-        params.add("incrementedVersion");
-      } else {
-        sqlBuilder.append(propMapping.getPropertyName());
-        params.add(propMapping.getPropertyName());
+        // the version gets assigned the incremented version
+        incrementedVersionParamIndex = params.size();
       }
+      params.add(propMapping);
     }
 
     // the where clause
-    sqlBuilder.append(
-        " WHERE " + tableMapping.getIdColumnName() + " = :" + tableMapping.getIdPropertyName());
-    params.add(tableMapping.getIdPropertyName());
+    sqlBuilder.append(" WHERE " + tableMapping.getIdColumnName() + " = ?");
+    params.add(tableMapping.getIdPropertyMapping());
     if (versionPropMapping != null) {
-      sqlBuilder.append(" AND ")
-                .append(versionPropMapping.getColumnName())
-                .append(" = :")
-                .append(versionPropMapping.getPropertyName());
-      params.add(versionPropMapping.getPropertyName());
+      sqlBuilder.append(" AND ").append(versionPropMapping.getColumnName()).append(" = ?");
+      params.add(versionPropMapping);
     }
 
     String updateSql = sqlBuilder.toString();
-    SqlAndParams updateSqlAndParams = new SqlAndParams(updateSql, params);
+    SqlAndParams updateSqlAndParams =
+        new SqlAndParams(updateSql, params, incrementedVersionParamIndex);
 
     return updateSqlAndParams;
   }
@@ -726,7 +1499,8 @@ public final class JdbcTemplateMapper {
       }
     }
 
-    Set<String> params = new HashSet<>();
+    List<PropertyMapping> params = new ArrayList<>();
+    int incrementedVersionParamIndex = -1;
     StringBuilder sqlBuilder = new StringBuilder("UPDATE ");
     sqlBuilder.append(tableMapping.fullyQualifiedTableName());
     sqlBuilder.append(" SET ");
@@ -756,32 +1530,27 @@ public final class JdbcTemplateMapper {
         first = false;
       }
       sqlBuilder.append(propMapping.getColumnName());
-      sqlBuilder.append(" = :");
+      sqlBuilder.append(" = ?");
 
       if (versionPropMapping != null
           && propMapping.getPropertyName().equals(versionPropMapping.getPropertyName())) {
-        sqlBuilder.append("incrementedVersion");
-        params.add("incrementedVersion");
-      } else {
-        sqlBuilder.append(propMapping.getPropertyName());
-        params.add(propMapping.getPropertyName());
+        // the version gets assigned the incremented version
+        incrementedVersionParamIndex = params.size();
       }
+      params.add(propMapping);
     }
 
     // the where clause
-    sqlBuilder.append(
-        " WHERE " + tableMapping.getIdColumnName() + " = :" + tableMapping.getIdPropertyName());
-    params.add(tableMapping.getIdPropertyName());
+    sqlBuilder.append(" WHERE " + tableMapping.getIdColumnName() + " = ?");
+    params.add(tableMapping.getIdPropertyMapping());
     if (versionPropMapping != null) {
-      sqlBuilder.append(" AND ")
-                .append(versionPropMapping.getColumnName())
-                .append(" = :")
-                .append(versionPropMapping.getPropertyName());
-      params.add(versionPropMapping.getPropertyName());
+      sqlBuilder.append(" AND ").append(versionPropMapping.getColumnName()).append(" = ?");
+      params.add(versionPropMapping);
     }
 
     String updateSql = sqlBuilder.toString();
-    SqlAndParams updateSqlAndParams = new SqlAndParams(updateSql, params);
+    SqlAndParams updateSqlAndParams =
+        new SqlAndParams(updateSql, params, incrementedVersionParamIndex);
 
     return updateSqlAndParams;
   }
@@ -800,18 +1569,64 @@ public final class JdbcTemplateMapper {
     return columnsSql;
   }
 
-  private BeanWrapper getBeanWrapper(Object obj) {
-    BeanWrapper bw = PropertyAccessorFactory.forBeanPropertyAccess(obj);
-    bw.setConversionService(conversionService);
-    return bw;
+  @SuppressWarnings("unchecked")
+  private <T> ModelRowMapper<T> getModelRowMapper(TableMapping tableMapping, Class<T> clazz) {
+    ModelRowMapper<T> rowMapper = (ModelRowMapper<T>) rowMapperCache.get(clazz.getName());
+    if (rowMapper == null) {
+      rowMapper = new ModelRowMapper<>(clazz, tableMapping);
+      rowMapperCache.put(clazz.getName(), rowMapper);
+    }
+    return rowMapper;
   }
 
-  private String tableNameForSimpleJdbcInsert(TableMapping tableMapping) {
-    if (tableMapping.getSchemaName() != null) {
-      return tableMapping.getTableName();
-    } else {
-      return tableMapping.fullyQualifiedTableName();
+  private void bindIdArray(PreparedStatement ps, TableMapping tableMapping, List<Object> idList)
+      throws SQLException {
+    bindArrayParameter(ps, 1, tableMapping.getIdPropertyMapping().getColumnSqlDataType(), idList);
+  }
+
+  // whether values of the sql type are bound as a single array parameter instead of 'IN' clauses
+  boolean useArrayParameter(int sqlType) {
+    IDialect dialect = mappingHelper.getDialect();
+    return dialect.supportsArrayParameter() && dialect.getArrayTypeName(sqlType) != null;
+  }
+
+  // binds the values as a single array parameter. See IDialect.getArrayParameterCondition()
+  void bindArrayParameter(PreparedStatement ps, int parameterIndex, int sqlType,
+      Collection<?> values) throws SQLException {
+    String typeName = mappingHelper.getDialect().getArrayTypeName(sqlType);
+    ps.setArray(parameterIndex, ps.getConnection().createArrayOf(typeName, values.toArray()));
+  }
+
+  // removes duplicate ids and converts them to the id property type so they can be matched with
+  // the id values of the objects.
+  private List<Object> toIdList(TableMapping tableMapping, Collection<?> ids) {
+    Class<?> idType = tableMapping.getIdPropertyMapping().getPropertyType();
+    Set<Object> idSet = new LinkedHashSet<>(ids.size());
+    for (Object id : ids) {
+      if (id == null) {
+        throw new IllegalArgumentException("ids cannot have null entries");
+      }
+      idSet.add(
+          ClassUtils.isAssignableValue(idType, id) ? id : conversionService.convert(id, idType));
     }
+    return new ArrayList<>(idSet);
+  }
+
+  // all the objects of a batch should be non null and of the same type. Returns the type.
+  private Class<?> validateBatchObjects(List<?> objs) {
+    Class<?> clazz = null;
+    for (Object obj : objs) {
+      if (obj == null) {
+        throw new IllegalArgumentException("objs cannot have null entries");
+      }
+      if (clazz == null) {
+        clazz = obj.getClass();
+      } else if (clazz != obj.getClass()) {
+        throw new IllegalArgumentException("All the objects should be of the same type. Found "
+            + clazz.getName() + " and " + obj.getClass().getName());
+      }
+    }
+    return clazz;
   }
 
   // will return null when updateProperties property count is more than
@@ -824,10 +1639,34 @@ public final class JdbcTemplateMapper {
     }
   }
 
-  SimpleCache<String, SimpleJdbcInsert> getInsertCache() {
+  int getInClauseChunkSize() {
+    return inClauseChunkSize;
+  }
+
+  Executor getQueryMergeExecutor() {
+    return queryMergeExecutor;
+  }
+
+  int getQueryMergeMaxParallelism() {
+    return queryMergeMaxParallelism;
+  }
+
+  int getQueryMergeTempTableThreshold() {
+    return queryMergeTempTableThreshold;
+  }
+
+  int getBatchSize() {
+    return batchSize;
+  }
+
+  SimpleCache<String, SqlAndParams> getInsertCache() {
     return insertCache;
   }
 
+  SimpleCache<String, SqlAndParams> getUpsertCache() {
+    return upsertCache;
+  }
+
   SimpleCache<String, SqlAndParams> getUpdateCache() {
     return updateCache;
   }
@@ -840,6 +1679,10 @@ public final class JdbcTemplateMapper {
     return beanColumnsSqlCache;
   }
 
+  SimpleCache<String, ModelRowMapper<?>> getRowMapperCache() {
+    return rowMapperCache;
+  }
+
   SimpleCache<String, String> getQuerySqlCache() {
     return querySqlCache;
   }
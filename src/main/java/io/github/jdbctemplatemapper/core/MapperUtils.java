@@ -23,6 +23,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 import java.util.stream.Collectors;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.support.JdbcUtils;
 
 /**
@@ -34,6 +36,13 @@ class MapperUtils {
   public static final String TYPE_TABLE_COL_ALIAS_PREFIX = "t";
   public static final String RELATED_TABLE_COL_ALIAS_PREFIX = "r";
 
+  // some databases have limits on number of entries in a 'IN' clause
+  public static final int IN_CLAUSE_CHUNK_SIZE = 100;
+
+  // 'IN' clause lists are padded to these sizes so that only a few distinct sql statements are
+  // generated and the prepared statement caches of the driver and database are reused.
+  private static final int[] IN_CLAUSE_BUCKET_SIZES = {1, 4, 16, 64, 256};
+
   public static boolean isNumericSqlType(int sqlType) {
     return JdbcUtils.isNumeric(sqlType);
   }
@@ -121,6 +130,120 @@ class MapperUtils {
     return chunks;
   }
 
+  /**
+   * Sorts the values (for index locality), splits them into chunks of chunkSize and pads each chunk
+   * to a bucket size. See padToBucketSize().
+   *
+   * @param values the 'IN' clause values
+   * @param chunkSize the maximum size of a chunk
+   * @return the padded chunks
+   */
+  public static List<List<?>> chunkAndPad(Collection<?> values, int chunkSize) {
+    List<List<?>> chunks = new ArrayList<>();
+    for (List<?> chunk : chunkTheList(sortIfComparable(values), chunkSize)) {
+      chunks.add(padToBucketSize(chunk, chunkSize));
+    }
+    return chunks;
+  }
+
+  /**
+   * Pads the 'IN' clause values to the smallest bucket size (1, 4, 16, 64, 256) which fits them by
+   * repeating the last value. The padded size is capped at maxSize. Sizes larger than the largest
+   * bucket are padded to a multiple of it.
+   *
+   * @param values the values
+   * @param maxSize the maximum padded size
+   * @return the padded values
+   */
+  public static List<?> padToBucketSize(List<?> values, int maxSize) {
+    int size = values.size();
+    if (size == 0) {
+      return values;
+    }
+    int largestBucket = IN_CLAUSE_BUCKET_SIZES[IN_CLAUSE_BUCKET_SIZES.length - 1];
+    int paddedSize = ((size + largestBucket - 1) / largestBucket) * largestBucket;
+    for (int bucketSize : IN_CLAUSE_BUCKET_SIZES) {
+      if (bucketSize >= size) {
+        paddedSize = bucketSize;
+        break;
+      }
+    }
+    paddedSize = Math.max(size, Math.min(paddedSize, maxSize));
+    if (paddedSize == size) {
+      return values;
+    }
+    List<Object> paddedValues = new ArrayList<>(paddedSize);
+    paddedValues.addAll(values);
+    Object lastValue = values.get(size - 1);
+    while (paddedValues.size() < paddedSize) {
+      paddedValues.add(lastValue);
+    }
+    return paddedValues;
+  }
+
+  /**
+   * Returns the values sorted when they are all Comparable and of the same class. Otherwise the
+   * values in their original order.
+   *
+   * @param values the values
+   * @return list of values
+   */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  public static List<Object> sortIfComparable(Collection<?> values) {
+    List<Object> list = new ArrayList<>(values);
+    Class<?> clazz = null;
+    for (Object value : list) {
+      if (!(value instanceof Comparable) || (clazz != null && clazz != value.getClass())) {
+        return list;
+      }
+      clazz = value.getClass();
+    }
+    Collections.sort((List) list);
+    return list;
+  }
+
+  /**
+   * Collection values of named parameters are expanded into 'IN' clause lists by
+   * NamedParameterJdbcTemplate. When the parameters are a MapSqlParameterSource with collection
+   * values a copy is returned with the collections padded to a bucket size. See padToBucketSize().
+   *
+   * @param params the where clause parameters
+   * @return the parameters to use
+   */
+  public static Object[] padInClauseParams(Object[] params) {
+    if (params == null || params.length == 0 || !(params[0] instanceof MapSqlParameterSource)) {
+      return params;
+    }
+    MapSqlParameterSource paramSource = (MapSqlParameterSource) params[0];
+    boolean hasCollection = false;
+    for (Object value : paramSource.getValues().values()) {
+      if (value instanceof Collection) {
+        hasCollection = true;
+        break;
+      }
+    }
+    if (!hasCollection) {
+      return params;
+    }
+    MapSqlParameterSource copy = new MapSqlParameterSource();
+    for (String paramName : paramSource.getParameterNames()) {
+      Object value = paramSource.getValue(paramName);
+      if (value instanceof Collection && !((Collection<?>) value).isEmpty()) {
+        value = padToBucketSize(sortIfComparable((Collection<?>) value), Integer.MAX_VALUE);
+      }
+      copy.addValue(paramName, value);
+      int sqlType = paramSource.getSqlType(paramName);
+      if (sqlType != SqlParameterSource.TYPE_UNKNOWN) {
+        copy.registerSqlType(paramName, sqlType);
+      }
+      String typeName = paramSource.getTypeName(paramName);
+      if (typeName != null) {
+        copy.registerTypeName(paramName, typeName);
+      }
+    }
+    return new Object[] {copy};
+  }
+
   public static boolean isBlank(final CharSequence cs) {
     int strLen;
     if (cs == null || (strLen = cs.length()) == 0) {
@@ -26,6 +26,7 @@ import java.util.stream.Collectors;
 import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.convert.ConversionService;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.metadata.TableMetaDataProvider;
 import org.springframework.jdbc.core.metadata.TableParameterMetaData;
@@ -58,9 +59,12 @@ class MappingHelper {
 
   private String databaseProductName;
 
+  private volatile IDialect dialect;
+
   private final JdbcTemplate jdbcTemplate;
   private final String schemaName;
   private final String catalogName;
+  private final ConversionService conversionService;
 
   private boolean includeSynonyms = false;
 
@@ -70,19 +74,38 @@ class MappingHelper {
    * @param jdbcTemplate The jdbcTemplate
    * @param schemaName database schema name.
    * @param catalogName database catalog name.
+   * @param conversionService the conversion service used by the model accessors.
    */
-  public MappingHelper(JdbcTemplate jdbcTemplate, String schemaName, String catalogName) {
+  public MappingHelper(JdbcTemplate jdbcTemplate, String schemaName, String catalogName,
+      ConversionService conversionService) {
     Assert.notNull(jdbcTemplate, "jdbcTemplate must not be null");
 
     this.jdbcTemplate = jdbcTemplate;
     this.schemaName = schemaName;
     this.catalogName = catalogName;
+    this.conversionService = conversionService;
   }
 
   public void includeSynonyms() {
     this.includeSynonyms = true;
   }
 
+  /**
+   * Gets the dialect. If one was not configured it is selected using the database product name.
+   *
+   * @return the dialect
+   */
+  public IDialect getDialect() {
+    if (dialect == null) {
+      dialect = Dialects.forDatabaseProductName(getDatabaseProductName());
+    }
+    return dialect;
+  }
+
+  public void setDialect(IDialect dialect) {
+    this.dialect = dialect;
+  }
+
   public String getSchemaName() {
     return schemaName;
   }
@@ -160,7 +183,7 @@ class MappingHelper {
 
       tableMapping = new TableMapping(clazz, tableName, tableColumnInfo.getSchemaName(),
           tableColumnInfo.getCatalogName(), JdbcUtils.commonDatabaseName(getDatabaseProductName()),
-          idPropertyInfo, propertyMappings);
+          idPropertyInfo, propertyMappings, new ModelAccessor(clazz, conversionService));
 
       modelToTableMappingCache.put(clazz.getName(), tableMapping);
     }
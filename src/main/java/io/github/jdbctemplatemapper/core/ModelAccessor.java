@@ -0,0 +1,289 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import io.github.jdbctemplatemapper.exception.MapperException;
+
+/**
+ * Compiled constructor and property accessors of a model class. Built once per TableMapping.
+ *
+ * <p>
+ * Accessors are generated with LambdaMetafactory when the model class is visible to the class
+ * loader of the library. Otherwise (for example model classes loaded by a child class loader) plain
+ * MethodHandles are used. Properties without a getter/setter fall back to field access.
+ *
+ * @author ajoseph
+ */
+class ModelAccessor {
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  private final Class<?> clazz;
+  private final ConversionService conversionService;
+  private final boolean useLambdaMetafactory;
+
+  // null when the class does not have a default constructor
+  private final Supplier<Object> constructor;
+
+  // Map key - property name
+  // value - the property accessor
+  private final Map<String, ModelPropertyAccessor> propertyAccessors = new ConcurrentHashMap<>();
+
+  ModelAccessor(Class<?> clazz, ConversionService conversionService) {
+    this.clazz = clazz;
+    this.conversionService = conversionService;
+    this.useLambdaMetafactory = ClassUtils.isVisible(clazz, ModelAccessor.class.getClassLoader());
+    this.constructor = createConstructor();
+  }
+
+  public Object newInstance() {
+    if (constructor == null) {
+      throw new MapperException(
+          "Failed to instantiate " + clazz.getName() + " No default constructor found.");
+    }
+    try {
+      return constructor.get();
+    } catch (Exception e) {
+      throw new MapperException("Failed to instantiate " + clazz.getName(), e);
+    }
+  }
+
+  /**
+   * Gets the accessor for the property. Accessors are built on first use and cached.
+   *
+   * @param propertyName the property name
+   * @return the property accessor
+   */
+  public ModelPropertyAccessor getPropertyAccessor(String propertyName) {
+    ModelPropertyAccessor accessor = propertyAccessors.get(propertyName);
+    if (accessor == null) {
+      accessor = createPropertyAccessor(propertyName);
+      propertyAccessors.putIfAbsent(propertyName, accessor);
+    }
+    return accessor;
+  }
+
+  public ConversionService getConversionService() {
+    return conversionService;
+  }
+
+  public Object getPropertyValue(Object obj, String propertyName) {
+    return getPropertyAccessor(propertyName).getValue(obj);
+  }
+
+  public void setPropertyValue(Object obj, String propertyName, Object value) {
+    getPropertyAccessor(propertyName).setValue(obj, value);
+  }
+
+  private Supplier<Object> createConstructor() {
+    Constructor<?> ctor = null;
+    MethodHandle mh = null;
+    try {
+      ctor = clazz.getDeclaredConstructor();
+      ReflectionUtils.makeAccessible(ctor);
+      mh = LOOKUP.unreflectConstructor(ctor);
+    } catch (Exception e) {
+      return null;
+    }
+    if (useLambdaMetafactory && Modifier.isPublic(clazz.getModifiers())
+        && Modifier.isPublic(ctor.getModifiers())) {
+      try {
+        CallSite site = LambdaMetafactory.metafactory(LOOKUP, "get",
+            MethodType.methodType(Supplier.class), MethodType.methodType(Object.class), mh,
+            MethodType.methodType(clazz));
+        return castSupplier(site.getTarget().invoke());
+      } catch (Throwable e) {
+        // fall back to method handle
+      }
+    }
+    MethodHandle genericMh = mh.asType(MethodType.methodType(Object.class));
+    return () -> {
+      try {
+        return genericMh.invokeExact();
+      } catch (Throwable e) {
+        throw new MapperException("Failed to instantiate " + clazz.getName(), asException(e));
+      }
+    };
+  }
+
+  private ModelPropertyAccessor createPropertyAccessor(String propertyName) {
+    PropertyDescriptor pd = BeanUtils.getPropertyDescriptor(clazz, propertyName);
+    Field field = ReflectionUtils.findField(clazz, propertyName);
+    if (pd == null && field == null) {
+      throw new MapperException(
+          "Invalid property name " + propertyName + " for class " + clazz.getSimpleName());
+    }
+    Class<?> propertyType = pd != null ? pd.getPropertyType() : field.getType();
+    try {
+      Function<Object, Object> getter = null;
+      if (pd != null && pd.getReadMethod() != null) {
+        getter = createGetter(pd.getReadMethod());
+      } else if (field != null) {
+        getter = createFieldGetter(field);
+      } else {
+        getter = obj -> {
+          throw new MapperException(
+              "Property " + clazz.getSimpleName() + "." + propertyName + " is not readable");
+        };
+      }
+
+      BiConsumer<Object, Object> setter = null;
+      if (pd != null && pd.getWriteMethod() != null) {
+        setter = createSetter(pd.getWriteMethod());
+      } else if (field != null && !Modifier.isFinal(field.getModifiers())) {
+        setter = createFieldSetter(field);
+      } else {
+        setter = (obj, value) -> {
+          throw new MapperException(
+              "Property " + clazz.getSimpleName() + "." + propertyName + " is not writable");
+        };
+      }
+      return new ModelPropertyAccessor(propertyName, propertyType, getter, setter,
+          conversionService);
+    } catch (MapperException e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new MapperException(
+          "Failed to create accessor for property " + clazz.getSimpleName() + "." + propertyName,
+          asException(e));
+    }
+  }
+
+  private Function<Object, Object> createGetter(Method method) throws Throwable {
+    MethodHandle mh = unreflect(method);
+    if (canUseLambdaMetafactory(method)) {
+      try {
+        CallSite site = LambdaMetafactory.metafactory(LOOKUP, "apply",
+            MethodType.methodType(Function.class),
+            MethodType.methodType(Object.class, Object.class), mh,
+            MethodType.methodType(ClassUtils.resolvePrimitiveIfNecessary(method.getReturnType()),
+                method.getDeclaringClass()));
+        return castFunction(site.getTarget().invoke());
+      } catch (Throwable e) {
+        // fall back to method handle
+      }
+    }
+    return methodHandleGetter(mh);
+  }
+
+  private BiConsumer<Object, Object> createSetter(Method method) throws Throwable {
+    MethodHandle mh = unreflect(method);
+    if (canUseLambdaMetafactory(method)) {
+      try {
+        CallSite site = LambdaMetafactory.metafactory(LOOKUP, "accept",
+            MethodType.methodType(BiConsumer.class),
+            MethodType.methodType(void.class, Object.class, Object.class), mh,
+            MethodType.methodType(void.class, method.getDeclaringClass(),
+                ClassUtils.resolvePrimitiveIfNecessary(method.getParameterTypes()[0])));
+        return castBiConsumer(site.getTarget().invoke());
+      } catch (Throwable e) {
+        // fall back to method handle
+      }
+    }
+    return methodHandleSetter(mh);
+  }
+
+  // the generated lambda class invokes the method directly so the method and its declaring class
+  // have to be accessible without setAccessible()
+  private boolean canUseLambdaMetafactory(Method method) {
+    Class<?> declaringClass = method.getDeclaringClass();
+    return useLambdaMetafactory && Modifier.isPublic(method.getModifiers())
+        && Modifier.isPublic(declaringClass.getModifiers())
+        && ClassUtils.isVisible(declaringClass, ModelAccessor.class.getClassLoader());
+  }
+
+  private Function<Object, Object> createFieldGetter(Field field) throws Throwable {
+    ReflectionUtils.makeAccessible(field);
+    return methodHandleGetter(LOOKUP.unreflectGetter(field));
+  }
+
+  private BiConsumer<Object, Object> createFieldSetter(Field field) throws Throwable {
+    ReflectionUtils.makeAccessible(field);
+    return methodHandleSetter(LOOKUP.unreflectSetter(field));
+  }
+
+  private MethodHandle unreflect(Method method) throws IllegalAccessException {
+    try {
+      return LOOKUP.unreflect(method);
+    } catch (IllegalAccessException e) {
+      // for example public method on a non public class
+      ReflectionUtils.makeAccessible(method);
+      return LOOKUP.unreflect(method);
+    }
+  }
+
+  private Function<Object, Object> methodHandleGetter(MethodHandle mh) {
+    MethodHandle genericMh = mh.asType(MethodType.methodType(Object.class, Object.class));
+    return obj -> {
+      try {
+        return genericMh.invokeExact(obj);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new MapperException(asException(e));
+      }
+    };
+  }
+
+  private BiConsumer<Object, Object> methodHandleSetter(MethodHandle mh) {
+    MethodHandle genericMh =
+        mh.asType(MethodType.methodType(void.class, Object.class, Object.class));
+    return (obj, value) -> {
+      try {
+        genericMh.invokeExact(obj, value);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new MapperException(asException(e));
+      }
+    };
+  }
+
+  private static Exception asException(Throwable e) {
+    return e instanceof Exception ? (Exception) e : new Exception(e);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Supplier<Object> castSupplier(Object obj) {
+    return (Supplier<Object>) obj;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Function<Object, Object> castFunction(Object obj) {
+    return (Function<Object, Object>) obj;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static BiConsumer<Object, Object> castBiConsumer(Object obj) {
+    return (BiConsumer<Object, Object>) obj;
+  }
+}
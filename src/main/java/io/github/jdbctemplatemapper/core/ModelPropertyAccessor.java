@@ -0,0 +1,73 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Compiled getter/setter of a model property. Used on the hot paths instead of a Spring BeanWrapper
+ * which does introspection, property path parsing and conversion lookups on every access.
+ *
+ * @author ajoseph
+ */
+class ModelPropertyAccessor {
+  private final String propertyName;
+  private final Class<?> propertyType;
+  private final Function<Object, Object> getter;
+  private final BiConsumer<Object, Object> setter;
+  private final ConversionService conversionService;
+
+  ModelPropertyAccessor(String propertyName, Class<?> propertyType, Function<Object, Object> getter,
+      BiConsumer<Object, Object> setter, ConversionService conversionService) {
+    this.propertyName = propertyName;
+    this.propertyType = propertyType;
+    this.getter = getter;
+    this.setter = setter;
+    this.conversionService = conversionService;
+  }
+
+  public String getPropertyName() {
+    return propertyName;
+  }
+
+  public Class<?> getPropertyType() {
+    return propertyType;
+  }
+
+  public Object getValue(Object obj) {
+    return getter.apply(obj);
+  }
+
+  /**
+   * Sets the value. If the value is not assignable to the property type the conversion service is
+   * used to convert it (same behavior as the BeanWrapper). null values are ignored for primitives so
+   * the property retains its default value.
+   *
+   * @param obj the model
+   * @param value the value
+   */
+  public void setValue(Object obj, Object value) {
+    if (value == null) {
+      if (propertyType.isPrimitive()) {
+        return;
+      }
+    } else if (!ClassUtils.isAssignableValue(propertyType, value)) {
+      value = conversionService.convert(value, propertyType);
+    }
+    setter.accept(obj, value);
+  }
+}
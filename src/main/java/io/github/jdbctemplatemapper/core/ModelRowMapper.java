@@ -0,0 +1,50 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * RowMapper for the sql generated by findById() and findAll(). The select columns are in the order
+ * of the TableMapping property mappings so column i of the ResultSet maps to property mapping i-1.
+ * No column name matching or introspection is done when mapping rows. Thread safe.
+ *
+ * @author ajoseph
+ */
+class ModelRowMapper<T> implements RowMapper<T> {
+  private final Class<T> clazz;
+  private final ModelAccessor modelAccessor;
+  private final PropertyMapping[] propertyMappings;
+
+  ModelRowMapper(Class<T> clazz, TableMapping tableMapping) {
+    this.clazz = clazz;
+    this.modelAccessor = tableMapping.getModelAccessor();
+    List<PropertyMapping> propMappings = tableMapping.getPropertyMappings();
+    this.propertyMappings = propMappings.toArray(new PropertyMapping[propMappings.size()]);
+  }
+
+  @Override
+  public T mapRow(ResultSet rs, int rowNum) throws SQLException {
+    Object obj = modelAccessor.newInstance();
+    for (int i = 0; i < propertyMappings.length; i++) {
+      PropertyMapping propMapping = propertyMappings[i];
+      propMapping.getPropertyAccessor()
+                 .setValue(obj, propMapping.getColumnReader().read(rs, i + 1));
+    }
+    return clazz.cast(obj);
+  }
+}
@@ -32,6 +32,9 @@ class PropertyMapping {
   private boolean updatedByAnnotation = false;
   private String columnAliasSuffix;
 
+  private ModelPropertyAccessor propertyAccessor;
+  private ColumnReader columnReader;
+
   public PropertyMapping(String propertyName, Class<?> propertyType, String columnName,
       int columnSqlDataType) {
     if (propertyName == null || propertyType == null || columnName == null) {
@@ -120,4 +123,20 @@ class PropertyMapping {
   public void setColumnAliasSuffix(String colAliasSuffix) {
     this.columnAliasSuffix = colAliasSuffix;
   }
+
+  public ModelPropertyAccessor getPropertyAccessor() {
+    return propertyAccessor;
+  }
+
+  public void setPropertyAccessor(ModelPropertyAccessor propertyAccessor) {
+    this.propertyAccessor = propertyAccessor;
+  }
+
+  public ColumnReader getColumnReader() {
+    return columnReader;
+  }
+
+  public void setColumnReader(ColumnReader columnReader) {
+    this.columnReader = columnReader;
+  }
 }
@@ -13,19 +13,48 @@
  */
 package io.github.jdbctemplatemapper.core;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import org.springframework.beans.BeanWrapper;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementCreatorFactory;
 import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlProvider;
+import org.springframework.jdbc.core.SqlTypeValue;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import io.github.jdbctemplatemapper.exception.MapperException;
+import io.github.jdbctemplatemapper.exception.QueryException;
+import io.github.jdbctemplatemapper.query.IQueryFetchSize;
 import io.github.jdbctemplatemapper.query.IQueryFluent;
 import io.github.jdbctemplatemapper.query.IQueryHasMany;
 import io.github.jdbctemplatemapper.query.IQueryHasOne;
@@ -33,11 +62,15 @@ import io.github.jdbctemplatemapper.query.IQueryJoinColumnManySide;
 import io.github.jdbctemplatemapper.query.IQueryJoinColumnTypeSide;
 import io.github.jdbctemplatemapper.query.IQueryLimitOffsetClause;
 import io.github.jdbctemplatemapper.query.IQueryOrderBy;
+import io.github.jdbctemplatemapper.query.IQueryPageSize;
 import io.github.jdbctemplatemapper.query.IQueryPopulateProperty;
+import io.github.jdbctemplatemapper.query.IQuerySeekAfter;
 import io.github.jdbctemplatemapper.query.IQueryThroughJoinColumns;
 import io.github.jdbctemplatemapper.query.IQueryThroughJoinTable;
 import io.github.jdbctemplatemapper.query.IQueryType;
 import io.github.jdbctemplatemapper.query.IQueryWhere;
+import io.github.jdbctemplatemapper.querymerge.IQueryMergeExecute;
+import io.github.jdbctemplatemapper.querymerge.IQueryMergeHasMany;
 
 /**
  * Fluent style queries for relationships hasOne, hasMany, hasMany through (many to many).
@@ -51,12 +84,22 @@ import io.github.jdbctemplatemapper.query.IQueryWhere;
  * @author ajoseph
  */
 public class Query<T> implements IQueryFluent<T> {
+  // fetch size used by stream() and forEach() when one is not specified
+  private static final int DEFAULT_STREAM_FETCH_SIZE = 1000;
+
   private Class<T> type;
   private String typeTableAlias;
   private String whereClause;
   private Object[] whereParams;
   private String orderBy;
   private String limitOffsetClause;
+  private Integer fetchSize;
+
+  // keyset pagination
+  private String seekPropertyName;
+  private Object seekValue;
+  private Object seekId;
+  private Integer pageSize;
 
   private String relationshipType;
   private Class<?> relatedType;
@@ -69,6 +112,12 @@ public class Query<T> implements IQueryFluent<T> {
   private String throughTypeJoinColumn;
   private String throughRelatedTypeJoinColumn;
 
+  // Relationships in addition to the relationship above. hasOne relationships are joined in the
+  // same sql. hasMany relationships are loaded with QueryMerge so the rows do not multiply.
+  private List<Relationship> hasOneJoins = new ArrayList<>();
+  private List<Relationship> hasManyMerges = new ArrayList<>();
+  private Relationship lastRelationship; // the additional relationship being specified
+
   private Query(Class<T> type) {
     this.type = type;
   }
@@ -107,20 +156,27 @@ public class Query<T> implements IQueryFluent<T> {
   }
 
   /**
-   * The hasOne relationship.
+   * The hasOne relationship. Can be called again after populateProperty() to join more hasOne
+   * relationships in the same sql. The tables of the joined types have to be distinct, use table
+   * aliases when a table is joined more than once.
    *
    * @param relatedType the related type
    * @return interface with the next methods in the chain
    */
   public IQueryHasOne<T> hasOne(Class<?> relatedType) {
     Assert.notNull(relatedType, "relatedType cannot be null");
+    if (this.relationshipType != null) {
+      addRelationship(hasOneJoins, RelationshipType.HAS_ONE, relatedType, null);
+      return this;
+    }
     this.relationshipType = RelationshipType.HAS_ONE;
     this.relatedType = relatedType;
     return this;
   }
 
   /**
-   * The hasOne relationship.
+   * The hasOne relationship. Can be called again after populateProperty() to join more hasOne
+   * relationships in the same sql.
    *
    * @param relatedType the related type
    * @param tableAlias the table alias which can be used in where and orderBy clauses
@@ -131,6 +187,10 @@ public class Query<T> implements IQueryFluent<T> {
     if (MapperUtils.isBlank(tableAlias)) {
       throw new IllegalArgumentException("tableAlias for type cannot be null or blank");
     }
+    if (this.relationshipType != null) {
+      addRelationship(hasOneJoins, RelationshipType.HAS_ONE, relatedType, tableAlias);
+      return this;
+    }
     this.relationshipType = RelationshipType.HAS_ONE;
     this.relatedType = relatedType;
     this.relatedTableAlias = tableAlias;
@@ -141,11 +201,22 @@ public class Query<T> implements IQueryFluent<T> {
    * The hasMany relationship. The 'populateProperty' for hasMany relationship should be a
    * collection and has to be initialized.
    *
+   * <p>
+   * Can be called again after populateProperty(). Only the first relationship is joined in the
+   * sql. Joining more collections would multiply the rows (100 lines and 50 events is 5000 rows
+   * per order) so the collections of the hasMany relationships after it are loaded with QueryMerge
+   * in batched IN lookups. The where and orderBy clauses cannot use the tables of these
+   * relationships and they are not supported by stream() and forEach().
+   *
    * @param relatedType the related type
    * @return interface with the next methods in the chain
    */
   public IQueryHasMany<T> hasMany(Class<?> relatedType) {
     Assert.notNull(relatedType, "relatedType cannot be null");
+    if (this.relationshipType != null) {
+      addRelationship(hasManyMerges, RelationshipType.HAS_MANY, relatedType, null);
+      return this;
+    }
     this.relationshipType = RelationshipType.HAS_MANY;
     this.relatedType = relatedType;
     return this;
@@ -153,7 +224,8 @@ public class Query<T> implements IQueryFluent<T> {
 
   /**
    * The hasMany relationship. The 'populateProperty' for hasMany relationship should be a
-   * collection and has to be initialized.
+   * collection and has to be initialized. Can be called again after populateProperty(), see
+   * hasMany(Class).
    *
    * @param relatedType the related type
    * @param tableAlias the table alias which can be used in where and orderBy clauses
@@ -164,6 +236,10 @@ public class Query<T> implements IQueryFluent<T> {
     if (MapperUtils.isBlank(tableAlias)) {
       throw new IllegalArgumentException("tableAlias for type cannot be null or blank");
     }
+    if (this.relationshipType != null) {
+      addRelationship(hasManyMerges, RelationshipType.HAS_MANY, relatedType, tableAlias);
+      return this;
+    }
     this.relationshipType = RelationshipType.HAS_MANY;
     this.relatedType = relatedType;
     this.relatedTableAlias = tableAlias;
@@ -182,7 +258,11 @@ public class Query<T> implements IQueryFluent<T> {
     if (MapperUtils.isBlank(joinColumnTypeSide)) {
       throw new IllegalArgumentException("joinColumnTypeSide cannot be null or blank");
     }
-    this.joinColumnTypeSide = MapperUtils.toLowerCase(joinColumnTypeSide.trim());
+    if (lastRelationship == null) {
+      this.joinColumnTypeSide = MapperUtils.toLowerCase(joinColumnTypeSide.trim());
+    } else {
+      lastRelationship.joinColumnTypeSide = MapperUtils.toLowerCase(joinColumnTypeSide.trim());
+    }
     return this;
   }
 
@@ -198,7 +278,11 @@ public class Query<T> implements IQueryFluent<T> {
     if (MapperUtils.isBlank(joinColumnManySide)) {
       throw new IllegalArgumentException("joinColumnManySide cannot be null or blank");
     }
-    this.joinColumnManySide = MapperUtils.toLowerCase(joinColumnManySide.trim());
+    if (lastRelationship == null) {
+      this.joinColumnManySide = MapperUtils.toLowerCase(joinColumnManySide.trim());
+    } else {
+      lastRelationship.joinColumnManySide = MapperUtils.toLowerCase(joinColumnManySide.trim());
+    }
     return this;
   }
 
@@ -212,8 +296,13 @@ public class Query<T> implements IQueryFluent<T> {
     if (MapperUtils.isBlank(tableName)) {
       throw new IllegalArgumentException("throughJoinTable() tableName cannot be null or blank");
     }
-    this.relationshipType = RelationshipType.HAS_MANY_THROUGH;
-    this.throughJoinTable = tableName;
+    if (lastRelationship == null) {
+      this.relationshipType = RelationshipType.HAS_MANY_THROUGH;
+      this.throughJoinTable = tableName;
+    } else {
+      lastRelationship.relationshipType = RelationshipType.HAS_MANY_THROUGH;
+      lastRelationship.throughJoinTable = tableName;
+    }
     return this;
   }
 
@@ -234,8 +323,13 @@ public class Query<T> implements IQueryFluent<T> {
       throw new IllegalArgumentException(
           "throughJoinColumns() relatedTypeJoinColumn cannot be null or blank");
     }
-    this.throughTypeJoinColumn = typeJoinColumn;
-    this.throughRelatedTypeJoinColumn = relatedTypeJoinColumn;
+    if (lastRelationship == null) {
+      this.throughTypeJoinColumn = typeJoinColumn;
+      this.throughRelatedTypeJoinColumn = relatedTypeJoinColumn;
+    } else {
+      lastRelationship.throughTypeJoinColumn = typeJoinColumn;
+      lastRelationship.throughRelatedTypeJoinColumn = relatedTypeJoinColumn;
+    }
     return this;
   }
 
@@ -252,7 +346,11 @@ public class Query<T> implements IQueryFluent<T> {
     if (MapperUtils.isBlank(propertyName)) {
       throw new IllegalArgumentException("propertyName cannot be null or blank");
     }
-    this.propertyName = propertyName;
+    if (lastRelationship == null) {
+      this.propertyName = propertyName;
+    } else {
+      lastRelationship.propertyName = propertyName;
+    }
     return this;
   }
 
@@ -267,6 +365,9 @@ public class Query<T> implements IQueryFluent<T> {
    *       new MapSqlParameterSource().addValue("status", "COMPLETE").addValue("customerId", 1))
    * </pre>
    * 
+   * Collection values of named parameters used in 'IN' clauses are padded to a small set of
+   * sizes by repeating the last value so that the same sql is reused for different list sizes.
+   * 
    * @param whereClause the whereClause.
    * @param params varArgs for the whereClause.
    * @return interface with the next methods in the chain
@@ -276,7 +377,7 @@ public class Query<T> implements IQueryFluent<T> {
       throw new IllegalArgumentException("whereClause cannot be null or blank");
     }
     this.whereClause = whereClause;
-    this.whereParams = params;
+    this.whereParams = MapperUtils.padInClauseParams(params);
     return this;
   }
 
@@ -296,8 +397,13 @@ public class Query<T> implements IQueryFluent<T> {
   }
 
   /**
-   * The SQL limit Offset clause for the query specific to the database being used. The limit offset
-   * clause is not supported for hasMany/hasMany through relationships.
+   * The SQL limit Offset clause for the query specific to the database being used.
+   *
+   * <p>
+   * For hasMany/hasMany through relationships the limit offset applies to the type records and not
+   * the joined rows. The query is run in two phases. First a page of type ids is selected using the
+   * where clause, the type table columns of the orderBy and the limit offset clause. Then the join
+   * is run for those ids. The where clause can only have type table columns in this case.
    * 
    * <pre>
    * See <a href=
@@ -317,13 +423,132 @@ public class Query<T> implements IQueryFluent<T> {
   }
 
   /**
-   * Execute the query using the jdbcTemplateMapper.
+   * The JDBC fetch size hint for the query, ie the number of rows the driver fetches from the
+   * database per round trip. stream() and forEach() default to 1000 when not specified.
+   *
+   * <pre>
+   * Note that some drivers need additional settings for the rows to be fetched incrementally.
+   * For example PostgreSQL needs the query to run within a transaction (auto commit off) and
+   * MySQL needs useCursorFetch=true in the url or a fetch size of Integer.MIN_VALUE.
+   * </pre>
+   *
+   * @param fetchSize the fetch size
+   * @return interface with the next methods in the chain
+   */
+  public IQueryFetchSize<T> fetchSize(int fetchSize) {
+    this.fetchSize = fetchSize;
+    return this;
+  }
+
+  /**
+   * Keyset (seek) pagination. The page has the records whose property value comes after lastValue
+   * in ascending order. Unlike an OFFSET the database can seek directly to the start of the page
+   * using an index on the column so deep pages are as fast as the first one. Records with a null
+   * property value are excluded from the pages. The id is used as the tie breaker for property
+   * values which are not unique so for a property other than the id a lastValue needs the id of
+   * the last record too, see seekAfter(String, Object, Object). See pageSize() and pages().
+   *
+   * @param propertyName the property of the type the records are ordered by.
+   * @param lastValue the property value of the last record of the previous page. null for the
+   *        first page.
+   * @return interface with the next methods in the chain
+   */
+  public IQuerySeekAfter<T> seekAfter(String propertyName, Object lastValue) {
+    return seekAfter(propertyName, lastValue, null);
+  }
+
+  /**
+   * Keyset (seek) pagination by a property which is not unique. The page has the records which
+   * come after the last record of the previous page in the order of the property value and the
+   * id. See seekAfter(String, Object).
+   *
+   * @param propertyName the property of the type the records are ordered by.
+   * @param lastValue the property value of the last record of the previous page. null for the
+   *        first page.
+   * @param lastId the id of the last record of the previous page. null for the first page.
+   * @return interface with the next methods in the chain
+   */
+  public IQuerySeekAfter<T> seekAfter(String propertyName, Object lastValue, Object lastId) {
+    if (MapperUtils.isBlank(propertyName)) {
+      throw new IllegalArgumentException("seekAfter() propertyName cannot be null or blank");
+    }
+    this.seekPropertyName = propertyName;
+    this.seekValue = lastValue;
+    this.seekId = lastId;
+    return this;
+  }
+
+  /**
+   * The page size for keyset pagination. If seekAfter() is not specified the records are paged by
+   * the id. execute() returns a single page and pages() iterates over all the pages. The pages are
+   * ordered by the seekAfter() property and the id so orderBy() is not supported.
+   *
+   * @param pageSize the number of records in a page
+   * @return interface with the next methods in the chain
+   */
+  public IQueryPageSize<T> pageSize(int pageSize) {
+    if (pageSize < 1) {
+      throw new IllegalArgumentException("pageSize should be greater than 0");
+    }
+    this.pageSize = pageSize;
+    return this;
+  }
+
+  /**
+   * Iterates over the pages of a keyset paginated query. Each page is queried when it is needed,
+   * seeking after the last record of the previous page.
+   *
+   * @param jdbcTemplateMapper the jdbcTemplateMapper
+   * @return the iterator over the pages
+   */
+  public Iterator<List<T>> pages(JdbcTemplateMapper jdbcTemplateMapper) {
+    return pages(jdbcTemplateMapper, null);
+  }
+
+  /**
+   * Iterates over the pages of a keyset paginated query. The next page is prefetched using the
+   * executor while the caller processes the current page. Note that the prefetch query runs on a
+   * different thread so it will not participate in the transaction of the caller.
+   *
+   * @param jdbcTemplateMapper the jdbcTemplateMapper
+   * @param prefetchExecutor the executor used to prefetch the next page. null for no prefetch.
+   * @return the iterator over the pages
+   */
+  public Iterator<List<T>> pages(JdbcTemplateMapper jdbcTemplateMapper,
+      Executor prefetchExecutor) {
+    Assert.notNull(jdbcTemplateMapper, "jdbcTemplateMapper cannot be null");
+    if (pageSize == null) {
+      throw new IllegalArgumentException("pages() needs a pageSize");
+    }
+    validatePageSizeOrderBy();
+    return new PageIterator(jdbcTemplateMapper, prefetchExecutor);
+  }
+
+  /**
+   * Execute the query using the jdbcTemplateMapper. For keyset pagination (see pageSize()) returns
+   * a single page.
    *
    * @param jdbcTemplateMapper the jdbcTemplateMapper
    * @return List a list of type. If no records found returns empty list.
    */
   public List<T> execute(JdbcTemplateMapper jdbcTemplateMapper) {
     Assert.notNull(jdbcTemplateMapper, "jdbcTemplateMapper cannot be null");
+    if (pageSize != null) {
+      validatePageSizeOrderBy();
+      return executePage(jdbcTemplateMapper, seekValue, seekId);
+    }
+    return executeInternal(jdbcTemplateMapper, whereClause, whereParams, orderBy,
+        limitOffsetClause);
+  }
+
+  // executes the query with the clauses. Does not modify the state of the query so it can be used
+  // concurrently for page prefetching.
+  private List<T> executeInternal(JdbcTemplateMapper jdbcTemplateMapper, String where,
+      Object[] params, String orderBy, String limitOffsetClause) {
+    Assert.notNull(jdbcTemplateMapper, "jdbcTemplateMapper cannot be null");
+    if (isHasMany() && MapperUtils.isNotBlank(limitOffsetClause)) {
+      return executePagedHasMany(jdbcTemplateMapper, where, params, orderBy, limitOffsetClause);
+    }
 
     TableMapping typeTableMapping = jdbcTemplateMapper.getTableMapping(type);
     String typeColumnPrefix =
@@ -345,76 +570,78 @@ public class Query<T> implements IQueryFluent<T> {
     String cacheKey = getCacheKey();
     String sql = jdbcTemplateMapper.getQuerySqlCache().get(cacheKey);
     if (sql == null) {
-      QueryValidator.validate(jdbcTemplateMapper, type, relationshipType, relatedType,
-          joinColumnTypeSide, joinColumnManySide, propertyName, throughJoinTable,
-          throughTypeJoinColumn, throughRelatedTypeJoinColumn);
-
-      // does not include where,orderBy,offsetLimit
-      sql = generatePartialQuerySql(jdbcTemplateMapper);
+      sql = generatePartialQuerySqlAndValidate(jdbcTemplateMapper);
     } else {
       foundInCache = true;
     }
 
     // sql stored in cache does not include where,orderBy,offsetLimit
     String partialSqlForCache = sql;
+    sql = completeSql(sql, where, orderBy, limitOffsetClause);
 
-    if (MapperUtils.isNotBlank(whereClause)) {
-      sql += " WHERE " + whereClause;
-    }
-
-    if (MapperUtils.isNotBlank(orderBy)) {
-      sql += " ORDER BY " + orderBy;
-    }
-
-    if (MapperUtils.isNotBlank(limitOffsetClause)) {
-      QueryValidator.validateQueryLimitOffsetClause(relationshipType, limitOffsetClause);
-      sql += " " + limitOffsetClause;
-    }
+    ModelPropertyAccessor populatePropertyAccessor = relatedType == null ? null
+        : typeTableMapping.getModelAccessor().getPropertyAccessor(propertyName);
+    List<SelectMapper<?>> joinSelectMappers = getJoinSelectMappers(jdbcTemplateMapper);
+    List<ModelPropertyAccessor> joinPropertyAccessors =
+        getJoinPropertyAccessors(typeTableMapping);
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     ResultSetExtractor<List<T>> rsExtractor = new ResultSetExtractor<List<T>>() {
       public List<T> extractData(ResultSet rs) throws SQLException, DataAccessException {
         // LinkedHashMap to retain record order
-        Map<Object, BeanWrapper> idToBeanWrapperTypeModelMap = new LinkedHashMap<>();
-        Map<Object, BeanWrapper> idToBeanWrapperRelatedModelMap = new HashMap<>();
+        Map<Object, Object> idToTypeModelMap = new LinkedHashMap<>();
+        Map<Object, Object> idToRelatedModelMap = new HashMap<>();
+        List<Map<Object, Object>> idToJoinModelMaps = new ArrayList<>();
+        joinSelectMappers.forEach(selectMapper -> idToJoinModelMaps.add(new HashMap<>()));
+        // the column plans are built once for the ResultSet
+        ResultSetModelBuilder typeModelBuilder = new ResultSetModelBuilder(typeSelectMapper);
+        ResultSetModelBuilder relatedModelBuilder = relatedTypeSelectMapper == null ? null
+            : new ResultSetModelBuilder(relatedTypeSelectMapper);
+        List<ResultSetModelBuilder> joinModelBuilders = getModelBuilders(joinSelectMappers);
         while (rs.next()) {
-          BeanWrapper bwTypeModel =
-              getBeanWrapperModel(rs, typeSelectMapper, idToBeanWrapperTypeModelMap, true);
-          if (relatedType != null && bwTypeModel != null) {
-            BeanWrapper bwRelatedModel = getBeanWrapperModel(rs, relatedTypeSelectMapper,
-                idToBeanWrapperRelatedModelMap, false);
-            Object relatedModel =
-                bwRelatedModel == null ? null : bwRelatedModel.getWrappedInstance();
+          Object typeModel = getModel(rs, typeModelBuilder, idToTypeModelMap,
+              populatePropertyAccessor, true);
+          if (typeModel != null) {
+            for (int i = 0; i < joinModelBuilders.size(); i++) {
+              joinPropertyAccessors.get(i)
+                                   .setValue(typeModel, getModel(rs, joinModelBuilders.get(i),
+                                       idToJoinModelMaps.get(i), null, false));
+            }
+          }
+          if (relatedType != null && typeModel != null) {
+            Object relatedModel = getModel(rs, relatedModelBuilder, idToRelatedModelMap,
+                populatePropertyAccessor, false);
             if (RelationshipType.HAS_ONE.equals(relationshipType)) {
-              bwTypeModel.setPropertyValue(propertyName, relatedModel);
+              populatePropertyAccessor.setValue(typeModel, relatedModel);
             } else if (RelationshipType.HAS_MANY.equals(relationshipType)
                 || RelationshipType.HAS_MANY_THROUGH.equals(relationshipType)) {
               if (relatedModel != null) {
                 // the property has already been validated so we know it is a
                 // collection that has been initialized
-                Collection collection = (Collection) bwTypeModel.getPropertyValue(propertyName);
+                Collection collection = (Collection) populatePropertyAccessor.getValue(typeModel);
                 collection.add(relatedModel);
               }
             }
           }
         }
-        return idToBeanWrapperTypeModelMap.values()
-                                          .stream()
-                                          .map(bw -> (T) bw.getWrappedInstance())
-                                          .collect(Collectors.toList());
+        return new ArrayList<>((Collection<T>) idToTypeModelMap.values());
       }
     };
 
     List<T> resultList = null;
-    if (whereParams == null) {
+    if (fetchSize != null) {
+      resultList = jdbcTemplateMapper.getJdbcTemplate()
+                                     .query(getPreparedStatementCreator(sql, params, fetchSize),
+                                         rsExtractor);
+    } else if (params == null) {
       resultList = jdbcTemplateMapper.getJdbcTemplate().query(sql, rsExtractor);
     } else {
-      if (whereParams[0] instanceof MapSqlParameterSource) {
+      if (params[0] instanceof MapSqlParameterSource) {
         resultList =
             jdbcTemplateMapper.getNamedParameterJdbcTemplate()
-                              .query(sql, (MapSqlParameterSource) whereParams[0], rsExtractor);
+                              .query(sql, (MapSqlParameterSource) params[0], rsExtractor);
       } else {
-        resultList = jdbcTemplateMapper.getJdbcTemplate().query(sql, rsExtractor, whereParams);
+        resultList = jdbcTemplateMapper.getJdbcTemplate().query(sql, rsExtractor, params);
       }
     }
 
@@ -422,31 +649,692 @@ public class Query<T> implements IQueryFluent<T> {
     if (!foundInCache) {
       jdbcTemplateMapper.getQuerySqlCache().put(cacheKey, partialSqlForCache);
     }
+    if (!hasManyMerges.isEmpty() && !resultList.isEmpty()) {
+      QueryMerge.executeAll(jdbcTemplateMapper, resultList, getHasManyMerges());
+    }
+    return resultList;
+  }
+
+  /**
+   * Executes the query and returns a stream of the objects which are built as the rows of the
+   * ResultSet are read so the objects do not have to be held in memory all at once. For hasOne
+   * relationships each object gets its own instance of the related object.
+   *
+   * <p>
+   * For hasMany and hasMany through relationships the rows of an object have to be next to each
+   * other so an object is emitted with its fully populated collection as soon as the id changes.
+   * Peak memory is a single object with its collection. If no orderBy is specified the query is
+   * ordered by the type id. A specified orderBy has to include the type id column (with the table
+   * prefix) and cannot have related table columns before it. Example: "orders.order_date,
+   * orders.order_id, order_line.order_line_id"
+   *
+   * <p>
+   * The stream holds an open connection and needs to be closed after use, for example using a
+   * try-with-resources block. Keyset pagination (pageSize()) is not supported, use pages().
+   *
+   * @param jdbcTemplateMapper the jdbcTemplateMapper
+   * @return the stream of objects
+   */
+  public Stream<T> stream(JdbcTemplateMapper jdbcTemplateMapper) {
+    Assert.notNull(jdbcTemplateMapper, "jdbcTemplateMapper cannot be null");
+    if (!hasManyMerges.isEmpty()) {
+      throw new IllegalArgumentException(
+          "stream() and forEach() do not support more than one hasMany relationship");
+    }
+    if (pageSize != null) {
+      throw new IllegalArgumentException(
+          "pageSize is not supported for stream() and forEach(). Use pages()");
+    }
+
+    TableMapping typeTableMapping = jdbcTemplateMapper.getTableMapping(type);
+    String typeColumnPrefix =
+        MapperUtils.columnPrefix(typeTableAlias, typeTableMapping.getTableName());
+    SelectMapper<?> typeSelectMapper = jdbcTemplateMapper.getSelectMapperInternal(type,
+        typeColumnPrefix, MapperUtils.TYPE_TABLE_COL_ALIAS_PREFIX);
+
+    SelectMapper<?> relatedTypeSelectMapper = null;
+    ModelPropertyAccessor populatePropertyAccessor = null;
+    if (relatedType != null) {
+      TableMapping relatedTypeTableMapping = jdbcTemplateMapper.getTableMapping(relatedType);
+      relatedTypeSelectMapper = jdbcTemplateMapper.getSelectMapperInternal(relatedType,
+          MapperUtils.columnPrefix(relatedTableAlias, relatedTypeTableMapping.getTableName()),
+          MapperUtils.RELATED_TABLE_COL_ALIAS_PREFIX);
+      populatePropertyAccessor =
+          typeTableMapping.getModelAccessor().getPropertyAccessor(propertyName);
+    }
+    List<SelectMapper<?>> joinSelectMappers = getJoinSelectMappers(jdbcTemplateMapper);
+    List<ModelPropertyAccessor> joinPropertyAccessors =
+        getJoinPropertyAccessors(typeTableMapping);
+
+    boolean hasMany = isHasMany();
+    String streamOrderBy = orderBy;
+    if (hasMany) {
+      if (MapperUtils.isNotBlank(limitOffsetClause)) {
+        throw new IllegalArgumentException("limitOffsetClause is not supported for stream() and "
+            + "forEach() of hasMany and hasMany through relationships.");
+      }
+      String typeIdColumn = typeColumnPrefix + "." + typeTableMapping.getIdColumnName();
+      if (MapperUtils.isBlank(orderBy)) {
+        streamOrderBy = typeIdColumn;
+      } else {
+        validateStreamOrderBy(jdbcTemplateMapper, orderBy, typeIdColumn);
+      }
+    }
+
+    String cacheKey = getCacheKey();
+    String partialSql = jdbcTemplateMapper.getQuerySqlCache().get(cacheKey);
+    boolean foundInCache = partialSql != null;
+    if (!foundInCache) {
+      partialSql = generatePartialQuerySqlAndValidate(jdbcTemplateMapper);
+    }
+    PreparedStatementCreator psc = getPreparedStatementCreator(
+        completeSql(partialSql, whereClause, streamOrderBy, limitOffsetClause), whereParams,
+        fetchSize == null ? DEFAULT_STREAM_FETCH_SIZE : fetchSize);
+
+    Stream<T> stream = null;
+    if (hasMany) {
+      stream = streamHasMany(jdbcTemplateMapper, psc, typeSelectMapper, relatedTypeSelectMapper,
+          populatePropertyAccessor, joinSelectMappers, joinPropertyAccessors);
+    } else {
+      // the stream has a single ResultSet so the column plans are built once
+      ResultSetModelBuilder typeModelBuilder = new ResultSetModelBuilder(typeSelectMapper);
+      ResultSetModelBuilder relatedModelBuilder = relatedTypeSelectMapper == null ? null
+          : new ResultSetModelBuilder(relatedTypeSelectMapper);
+      List<ResultSetModelBuilder> joinModelBuilders = getModelBuilders(joinSelectMappers);
+      // effectively final for the lambda
+      ModelPropertyAccessor propertyAccessor = populatePropertyAccessor;
+      @SuppressWarnings("unchecked")
+      RowMapper<T> rowMapper = (rs, rowNum) -> {
+        Object typeModel = typeModelBuilder.buildModel(rs);
+        if (relatedModelBuilder != null) {
+          propertyAccessor.setValue(typeModel, relatedModelBuilder.buildModel(rs));
+        }
+        populateJoins(rs, typeModel, joinModelBuilders, joinPropertyAccessors);
+        return (T) typeModel;
+      };
+      stream = jdbcTemplateMapper.getJdbcTemplate().queryForStream(psc, rowMapper);
+    }
+
+    // code reaches here query success, handle caching
+    if (!foundInCache) {
+      jdbcTemplateMapper.getQuerySqlCache().put(cacheKey, partialSql);
+    }
+    return stream;
+  }
+
+  /**
+   * Executes the query and hands each object to the consumer as the rows of the ResultSet are
+   * read. See stream().
+   *
+   * @param jdbcTemplateMapper the jdbcTemplateMapper
+   * @param consumer the consumer of the objects
+   */
+  public void forEach(JdbcTemplateMapper jdbcTemplateMapper, Consumer<T> consumer) {
+    Assert.notNull(consumer, "consumer cannot be null");
+    try (Stream<T> stream = stream(jdbcTemplateMapper)) {
+      stream.forEach(consumer);
+    }
+  }
+
+  // The rows are mapped to {typeModel, relatedModel} where typeModel is only built for the first
+  // row of a type id and is null for the following rows of that id. The rows are then grouped so
+  // a type model is emitted once the first row of the next type model is read.
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private Stream<T> streamHasMany(JdbcTemplateMapper jtm, PreparedStatementCreator psc,
+      SelectMapper<?> typeSelectMapper, SelectMapper<?> relatedTypeSelectMapper,
+      ModelPropertyAccessor populatePropertyAccessor, List<SelectMapper<?>> joinSelectMappers,
+      List<ModelPropertyAccessor> joinPropertyAccessors) {
+    Object[] lastTypeId = new Object[1];
+    // the stream has a single ResultSet so the column plans are built once
+    ResultSetModelBuilder typeModelBuilder = new ResultSetModelBuilder(typeSelectMapper);
+    ResultSetModelBuilder relatedModelBuilder = new ResultSetModelBuilder(relatedTypeSelectMapper);
+    List<ResultSetModelBuilder> joinModelBuilders = getModelBuilders(joinSelectMappers);
+    RowMapper<Object[]> rowMapper = (rs, rowNum) -> {
+      Object id = rs.getObject(typeModelBuilder.getColumnPlan(rs).getIdColumnIndex());
+      Object typeModel = null;
+      if (!id.equals(lastTypeId[0])) {
+        lastTypeId[0] = id;
+        typeModel = typeModelBuilder.buildModel(rs);
+        // the property has already been validated so we know it is an initialized collection
+        ((Collection) populatePropertyAccessor.getValue(typeModel)).clear();
+        populateJoins(rs, typeModel, joinModelBuilders, joinPropertyAccessors);
+      }
+      return new Object[] {typeModel, relatedModelBuilder.buildModel(rs)};
+    };
+    Stream<Object[]> rowStream = jtm.getJdbcTemplate().queryForStream(psc, rowMapper);
+    Iterator<Object[]> rows = rowStream.iterator();
+
+    Iterator<T> iterator = new Iterator<T>() {
+      private Object[] nextRow; // the first row of the next type model
+
+      @Override
+      public boolean hasNext() {
+        if (nextRow == null && rows.hasNext()) {
+          nextRow = rows.next();
+        }
+        return nextRow != null;
+      }
+
+      @Override
+      public T next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        Object typeModel = nextRow[0];
+        Collection collection = (Collection) populatePropertyAccessor.getValue(typeModel);
+        Object[] row = nextRow;
+        nextRow = null;
+        while (true) {
+          if (row[1] != null) {
+            collection.add(row[1]);
+          }
+          if (!rows.hasNext()) {
+            break;
+          }
+          row = rows.next();
+          if (row[0] != null) {
+            nextRow = row;
+            break;
+          }
+        }
+        return (T) typeModel;
+      }
+    };
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+        false).onClose(rowStream::close);
+  }
+
+  // The rows of a type model have to be next to each other so the orderBy has to include the type
+  // id column and cannot have related table or through join table columns before it. The columns
+  // can be followed by ASC/DESC
+  private void validateStreamOrderBy(JdbcTemplateMapper jtm, String orderBy, String typeIdColumn) {
+    String relatedPrefix = MapperUtils.columnPrefix(relatedTableAlias,
+        jtm.getTableMapping(relatedType).getTableName()).toLowerCase() + ".";
+    String throughPrefix = throughJoinTable == null ? null
+        : MapperUtils.getTableNameOnly(throughJoinTable).toLowerCase() + ".";
+    for (String orderByColumn : orderBy.split(",")) {
+      String column = orderByColumn.trim().split("\\s+")[0].toLowerCase();
+      if (column.equalsIgnoreCase(typeIdColumn)) {
+        return;
+      }
+      if (column.startsWith(relatedPrefix)
+          || (throughPrefix != null && column.startsWith(throughPrefix))) {
+        throw new IllegalArgumentException("For stream() and forEach() of hasMany and hasMany "
+            + "through relationships the orderBy cannot have the column " + orderByColumn.trim()
+            + " of the related table before the column " + typeIdColumn);
+      }
+    }
+    throw new IllegalArgumentException("For stream() and forEach() of hasMany and hasMany "
+        + "through relationships the orderBy should include the column " + typeIdColumn);
+  }
+
+  // validates the query and generates the sql which does not include where, orderBy, offsetLimit
+  private String generatePartialQuerySqlAndValidate(JdbcTemplateMapper jtm) {
+    QueryValidator.validate(jtm, type, relationshipType, relatedType, joinColumnTypeSide,
+        joinColumnManySide, propertyName, throughJoinTable, throughTypeJoinColumn,
+        throughRelatedTypeJoinColumn);
+    validateRelationships(jtm);
+    return generatePartialQuerySql(jtm);
+  }
+
+  // The additional relationships need distinct properties. The hasOne joins also need distinct
+  // table prefixes. The hasMany merges are validated by QueryMerge.
+  private void validateRelationships(JdbcTemplateMapper jtm) {
+    if (hasOneJoins.isEmpty() && hasManyMerges.isEmpty()) {
+      return;
+    }
+    Set<String> propertyNames = new HashSet<>();
+    propertyNames.add(propertyName);
+    for (Relationship merge : hasManyMerges) {
+      if (!propertyNames.add(merge.propertyName)) {
+        throw new QueryException(
+            "property " + merge.propertyName + " is populated by more than one relationship");
+      }
+    }
+    Set<String> tablePrefixes = new HashSet<>();
+    tablePrefixes.add(MapperUtils.columnPrefix(typeTableAlias,
+        jtm.getTableMapping(type).getTableName()).toLowerCase());
+    tablePrefixes.add(MapperUtils.columnPrefix(relatedTableAlias,
+        jtm.getTableMapping(relatedType).getTableName()).toLowerCase());
+    if (throughJoinTable != null) {
+      tablePrefixes.add(MapperUtils.getTableNameOnly(throughJoinTable).toLowerCase());
+    }
+    for (Relationship join : hasOneJoins) {
+      if (!propertyNames.add(join.propertyName)) {
+        throw new QueryException(
+            "property " + join.propertyName + " is populated by more than one relationship");
+      }
+      String prefix = join.columnPrefix(jtm);
+      if (!tablePrefixes.add(prefix.toLowerCase())) {
+        throw new QueryException("hasOne " + join.relatedType.getSimpleName() + " table " + prefix
+            + " is already used in the query. Use a distinct tableAlias");
+      }
+      QueryValidator.validate(jtm, type, RelationshipType.HAS_ONE, join.relatedType,
+          join.joinColumnTypeSide, null, join.propertyName, null, null, null);
+    }
+  }
+
+  // the SelectMappers of the hasOne joins. Their column alias prefixes are r2, r3 ...
+  private List<SelectMapper<?>> getJoinSelectMappers(JdbcTemplateMapper jtm) {
+    List<SelectMapper<?>> selectMappers = new ArrayList<>(hasOneJoins.size());
+    for (int i = 0; i < hasOneJoins.size(); i++) {
+      Relationship join = hasOneJoins.get(i);
+      selectMappers.add(jtm.getSelectMapperInternal(join.relatedType, join.columnPrefix(jtm),
+          MapperUtils.RELATED_TABLE_COL_ALIAS_PREFIX + (i + 2)));
+    }
+    return selectMappers;
+  }
+
+  private List<ModelPropertyAccessor> getJoinPropertyAccessors(TableMapping typeTableMapping) {
+    List<ModelPropertyAccessor> accessors = new ArrayList<>(hasOneJoins.size());
+    for (Relationship join : hasOneJoins) {
+      accessors.add(typeTableMapping.getModelAccessor().getPropertyAccessor(join.propertyName));
+    }
+    return accessors;
+  }
+
+  private List<ResultSetModelBuilder> getModelBuilders(List<SelectMapper<?>> selectMappers) {
+    List<ResultSetModelBuilder> modelBuilders = new ArrayList<>(selectMappers.size());
+    for (SelectMapper<?> selectMapper : selectMappers) {
+      modelBuilders.add(new ResultSetModelBuilder(selectMapper));
+    }
+    return modelBuilders;
+  }
+
+  private void populateJoins(ResultSet rs, Object typeModel,
+      List<ResultSetModelBuilder> joinModelBuilders,
+      List<ModelPropertyAccessor> joinPropertyAccessors) throws SQLException {
+    for (int i = 0; i < joinModelBuilders.size(); i++) {
+      joinPropertyAccessors.get(i).setValue(typeModel, joinModelBuilders.get(i).buildModel(rs));
+    }
+  }
+
+  private void addRelationship(List<Relationship> relationships, String relationshipType,
+      Class<?> relatedType, String tableAlias) {
+    lastRelationship = new Relationship(relationshipType, relatedType, tableAlias);
+    relationships.add(lastRelationship);
+  }
+
+  // the QueryMerges which load the collections of the additional hasMany relationships
+  private List<IQueryMergeExecute<T>> getHasManyMerges() {
+    List<IQueryMergeExecute<T>> merges = new ArrayList<>(hasManyMerges.size());
+    for (Relationship merge : hasManyMerges) {
+      IQueryMergeHasMany<T> hasMany =
+          merge.tableAlias == null ? QueryMerge.type(type).hasMany(merge.relatedType)
+              : QueryMerge.type(type).hasMany(merge.relatedType, merge.tableAlias);
+      if (RelationshipType.HAS_MANY_THROUGH.equals(merge.relationshipType)) {
+        merges.add(hasMany.throughJoinTable(merge.throughJoinTable)
+                          .throughJoinColumns(merge.throughTypeJoinColumn,
+                              merge.throughRelatedTypeJoinColumn)
+                          .populateProperty(merge.propertyName));
+      } else {
+        merges.add(hasMany.joinColumnManySide(merge.joinColumnManySide)
+                          .populateProperty(merge.propertyName));
+      }
+    }
+    return merges;
+  }
+
+  // Two phase paging for hasMany. The limit offset is applied to a query of the type ids and the
+  // join is run for the ids of the page. The models are returned in the order of the ids.
+  private List<T> executePagedHasMany(JdbcTemplateMapper jtm, String where, Object[] params,
+      String orderBy, String limitOffsetClause) {
+    TableMapping typeTableMapping = jtm.getTableMapping(type);
+    String typeColumnPrefix =
+        MapperUtils.columnPrefix(typeTableAlias, typeTableMapping.getTableName());
+    String idColumn = typeColumnPrefix + "." + typeTableMapping.getIdColumnName();
+
+    String idSql = completeSql(
+        "SELECT " + idColumn + " FROM "
+            + MapperUtils.tableStrForFrom(typeTableAlias,
+                typeTableMapping.fullyQualifiedTableName()),
+        where, typeTableOrderBy(jtm, orderBy), limitOffsetClause);
+
+    List<Object> ids = null;
+    if (params == null) {
+      ids = jtm.getJdbcTemplate().queryForList(idSql, Object.class);
+    } else if (params[0] instanceof MapSqlParameterSource) {
+      ids = jtm.getNamedParameterJdbcTemplate()
+               .queryForList(idSql, (MapSqlParameterSource) params[0], Object.class);
+    } else {
+      ids = jtm.getJdbcTemplate().queryForList(idSql, Object.class, params);
+    }
+    if (ids.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    Class<?> idType = typeTableMapping.getIdPropertyMapping().getPropertyType();
+    List<Object> idList = new ArrayList<>(ids.size());
+    for (Object id : ids) {
+      idList.add(ClassUtils.isAssignableValue(idType, id) ? id
+          : jtm.getConversionService().convert(id, idType));
+    }
+
+    Map<Object, T> idToModelMap = new HashMap<>(idList.size());
+    List<T> models = new ArrayList<>(idList.size());
+    IDialect dialect = jtm.getDialect();
+    int idSqlType = typeTableMapping.getIdPropertyMapping().getColumnSqlDataType();
+    if (jtm.useArrayParameter(idSqlType)) {
+      // all the ids of the page bound as a single array parameter
+      SqlTypeValue idArray = (ps, paramIndex, sqlType, typeName) -> jtm.bindArrayParameter(ps,
+          paramIndex, idSqlType, idList);
+      models.addAll(executeInternal(jtm, dialect.getArrayParameterCondition(idColumn),
+          new Object[] {idArray}, orderBy, null));
+    } else {
+      // the chunks are padded so that only a few distinct 'IN' clause sizes are issued
+      for (List<?> chunk : MapperUtils.chunkAndPad(idList, jtm.getInClauseChunkSize())) {
+        StringJoiner placeholders = new StringJoiner(", ", idColumn + " IN (", ")");
+        chunk.forEach(id -> placeholders.add("?"));
+        models.addAll(
+            executeInternal(jtm, placeholders.toString(), chunk.toArray(), orderBy, null));
+      }
+    }
+    for (T model : models) {
+      idToModelMap.put(typeTableMapping.getIdValue(model), model);
+    }
+    List<T> resultList = new ArrayList<>(idList.size());
+    for (Object id : idList) {
+      T model = idToModelMap.get(id);
+      if (model != null) {
+        resultList.add(model);
+      }
+    }
     return resultList;
   }
 
+  // the orderBy without the columns of the related table and through join table so it can be used
+  // for the query of the type ids.
+  private String typeTableOrderBy(JdbcTemplateMapper jtm, String orderBy) {
+    if (MapperUtils.isBlank(orderBy)) {
+      return orderBy;
+    }
+    String relatedPrefix = MapperUtils.columnPrefix(relatedTableAlias,
+        jtm.getTableMapping(relatedType).getTableName()).toLowerCase() + ".";
+    String throughPrefix =
+        throughJoinTable == null ? null : throughJoinTable.toLowerCase() + ".";
+    List<String> joinPrefixes = new ArrayList<>();
+    for (Relationship join : hasOneJoins) {
+      joinPrefixes.add(join.columnPrefix(jtm).toLowerCase() + ".");
+    }
+    StringJoiner sj = new StringJoiner(", ");
+    for (String orderByColumn : orderBy.split(",")) {
+      String column = orderByColumn.trim().toLowerCase();
+      if (!column.startsWith(relatedPrefix)
+          && (throughPrefix == null || !column.startsWith(throughPrefix))
+          && joinPrefixes.stream().noneMatch(column::startsWith)) {
+        sj.add(orderByColumn.trim());
+      }
+    }
+    return sj.toString();
+  }
+
+  private boolean isHasMany() {
+    return RelationshipType.HAS_MANY.equals(relationshipType)
+        || RelationshipType.HAS_MANY_THROUGH.equals(relationshipType);
+  }
+
+  // executes a keyset page. The page starts after the seek value and for non unique seek
+  // properties after the id too. lastId is null for the first page.
+  private List<T> executePage(JdbcTemplateMapper jtm, Object lastValue, Object lastId) {
+    Assert.notNull(jtm, "jdbcTemplateMapper cannot be null");
+
+    TableMapping typeTableMapping = jtm.getTableMapping(type);
+    String typeColumnPrefix =
+        MapperUtils.columnPrefix(typeTableAlias, typeTableMapping.getTableName());
+    PropertyMapping seekPropMapping = getSeekPropertyMapping(typeTableMapping);
+    String idColumn = typeColumnPrefix + "." + typeTableMapping.getIdColumnName();
+    String seekColumn = typeColumnPrefix + "." + seekPropMapping.getColumnName();
+    boolean seekById = seekPropMapping.isIdAnnotation();
+    if (!seekById && lastValue != null && lastId == null) {
+      // without the id records which tie on the value would be skipped
+      throw new IllegalArgumentException("seekAfter() of property " + seekPropertyName
+          + " needs the id of the last record. Use seekAfter(propertyName, lastValue, lastId)");
+    }
+
+    boolean named = whereParams != null && whereParams[0] instanceof MapSqlParameterSource;
+    List<Object> seekParams = new ArrayList<>();
+    String seekCondition = null;
+    if (lastValue != null) {
+      String valueParam = named ? ":jtmSeekValue" : "?";
+      if (seekById) {
+        seekCondition = seekColumn + " > " + valueParam;
+        seekParams.add(lastValue);
+      } else {
+        String idParam = named ? ":jtmSeekId" : "?";
+        seekCondition = "(" + seekColumn + " > " + valueParam + " OR (" + seekColumn + " = "
+            + valueParam + " AND " + idColumn + " > " + idParam + "))";
+        seekParams.add(lastValue);
+        seekParams.add(lastValue);
+        seekParams.add(lastId);
+      }
+    } else if (!seekById) {
+      // records with a null value cannot be sought after so they are excluded from all pages
+      seekCondition = seekColumn + " IS NOT NULL";
+    }
+
+    String where = whereClause;
+    Object[] params = whereParams;
+    if (seekCondition != null) {
+      where = MapperUtils.isBlank(whereClause) ? seekCondition
+          : "(" + whereClause + ") AND " + seekCondition;
+      if (named) {
+        MapSqlParameterSource paramSource = copy((MapSqlParameterSource) whereParams[0]);
+        paramSource.addValue("jtmSeekValue", lastValue);
+        paramSource.addValue("jtmSeekId", lastId);
+        params = new Object[] {paramSource};
+      } else {
+        List<Object> paramList =
+            whereParams == null ? new ArrayList<>() : new ArrayList<>(Arrays.asList(whereParams));
+        paramList.addAll(seekParams);
+        params = paramList.isEmpty() ? whereParams : paramList.toArray();
+      }
+    }
+
+    String pageOrderBy = seekById ? idColumn : seekColumn + ", " + idColumn;
+    return executeInternal(jtm, where, params, pageOrderBy,
+        jtm.getDialect().getLimitOffsetClause(pageSize, null));
+  }
+
+  // the order of the pages is the seek order so an orderBy would be silently replaced
+  private void validatePageSizeOrderBy() {
+    if (MapperUtils.isNotBlank(orderBy)) {
+      throw new IllegalArgumentException("orderBy is not supported with pageSize(). The pages are "
+          + "ordered by the seekAfter() property and the id");
+    }
+  }
+
+  private PropertyMapping getSeekPropertyMapping(TableMapping typeTableMapping) {
+    if (seekPropertyName == null) {
+      return typeTableMapping.getIdPropertyMapping();
+    }
+    PropertyMapping propMapping =
+        typeTableMapping.getPropertyMappingByPropertyName(seekPropertyName);
+    if (propMapping == null) {
+      throw new QueryException(
+          "Invalid seekAfter() property name " + seekPropertyName + " for class "
+              + type.getSimpleName());
+    }
+    return propMapping;
+  }
+
+  private MapSqlParameterSource copy(MapSqlParameterSource paramSource) {
+    MapSqlParameterSource copy = new MapSqlParameterSource(paramSource.getValues());
+    for (String paramName : paramSource.getParameterNames()) {
+      int sqlType = paramSource.getSqlType(paramName);
+      if (sqlType != SqlParameterSource.TYPE_UNKNOWN) {
+        copy.registerSqlType(paramName, sqlType);
+      }
+    }
+    return copy;
+  }
+
+  // iterates over the keyset pages. The next page is queried seeking after the last record of the
+  // current page. If there is a prefetch executor the next page is queried in the background.
+  private class PageIterator implements Iterator<List<T>> {
+    private final JdbcTemplateMapper jtm;
+    private final Executor prefetchExecutor;
+    private final TableMapping typeTableMapping;
+    private final ModelPropertyAccessor seekPropertyAccessor;
+
+    private List<T> nextPage;
+    private CompletableFuture<List<T>> nextPageFuture;
+    private boolean lastPage = false;
+    // seek values of the next page when it is not prefetched
+    private Object lastValue;
+    private Object lastId;
+
+    PageIterator(JdbcTemplateMapper jtm, Executor prefetchExecutor) {
+      this.jtm = jtm;
+      this.prefetchExecutor = prefetchExecutor;
+      this.typeTableMapping = jtm.getTableMapping(type);
+      this.seekPropertyAccessor = getSeekPropertyMapping(typeTableMapping).getPropertyAccessor();
+      this.lastValue = seekValue;
+      this.lastId = seekId;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (nextPage == null && !lastPage) {
+        if (nextPageFuture != null) {
+          CompletableFuture<List<T>> future = nextPageFuture;
+          nextPageFuture = null;
+          try {
+            nextPage = future.join();
+          } catch (CompletionException e) {
+            lastPage = true;
+            if (e.getCause() instanceof RuntimeException) {
+              throw (RuntimeException) e.getCause();
+            }
+            throw new MapperException("Prefetch of the next page failed", e);
+          }
+        } else {
+          nextPage = executePage(jtm, lastValue, lastId);
+        }
+        // a partial page is the last page
+        lastPage = nextPage.size() < pageSize;
+      }
+      return nextPage != null && !nextPage.isEmpty();
+    }
+
+    @Override
+    public List<T> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      List<T> page = nextPage;
+      nextPage = null;
+      if (!lastPage) {
+        T last = page.get(page.size() - 1);
+        lastValue = seekPropertyAccessor.getValue(last);
+        lastId = typeTableMapping.getIdValue(last);
+        if (lastValue == null) {
+          // the next page would start over from the first record
+          lastPage = true;
+          String seekPropertyName = getSeekPropertyMapping(typeTableMapping).getPropertyName();
+          throw new QueryException("seekAfter() property " + seekPropertyName
+              + " of the last record of the page is null");
+        }
+        if (prefetchExecutor != null) {
+          Object value = lastValue;
+          Object id = lastId;
+          nextPageFuture =
+              CompletableFuture.supplyAsync(() -> executePage(jtm, value, id), prefetchExecutor);
+        }
+      }
+      return page;
+    }
+  }
+
+  // adds the where, orderBy and offsetLimit to the partial sql
+  private String completeSql(String partialSql, String whereClause, String orderBy,
+      String limitOffsetClause) {
+    String sql = partialSql;
+    if (MapperUtils.isNotBlank(whereClause)) {
+      sql += " WHERE " + whereClause;
+    }
+
+    if (MapperUtils.isNotBlank(orderBy)) {
+      sql += " ORDER BY " + orderBy;
+    }
+
+    if (MapperUtils.isNotBlank(limitOffsetClause)) {
+      sql += " " + limitOffsetClause;
+    }
+    return sql;
+  }
+
+  // statement creator which sets the fetch size. Named parameters (MapSqlParameterSource) are
+  // handled the same way as NamedParameterJdbcTemplate.
+  private PreparedStatementCreator getPreparedStatementCreator(String sql, Object[] params,
+      int fetchSize) {
+    PreparedStatementCreator psc = null;
+    if (params != null && params[0] instanceof MapSqlParameterSource) {
+      MapSqlParameterSource paramSource = (MapSqlParameterSource) params[0];
+      ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(sql);
+      String sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, paramSource);
+      PreparedStatementCreatorFactory pscf = new PreparedStatementCreatorFactory(sqlToUse,
+          NamedParameterUtils.buildSqlParameterList(parsedSql, paramSource));
+      psc = pscf.newPreparedStatementCreator(
+          NamedParameterUtils.buildValueArray(parsedSql, paramSource, null));
+    } else {
+      psc = con -> {
+        PreparedStatement ps = con.prepareStatement(sql);
+        new ArgumentPreparedStatementSetter(params).setValues(ps);
+        return ps;
+      };
+    }
+    return new FetchSizePreparedStatementCreator(psc, sql, fetchSize);
+  }
+
+  private static class FetchSizePreparedStatementCreator
+      implements PreparedStatementCreator, SqlProvider {
+    private final PreparedStatementCreator psc;
+    private final String sql;
+    private final int fetchSize;
+
+    FetchSizePreparedStatementCreator(PreparedStatementCreator psc, String sql, int fetchSize) {
+      this.psc = psc;
+      this.sql = sql;
+      this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public PreparedStatement createPreparedStatement(Connection con) throws SQLException {
+      PreparedStatement ps = psc.createPreparedStatement(con);
+      ps.setFetchSize(fetchSize);
+      return ps;
+    }
+
+    @Override
+    public String getSql() {
+      return sql;
+    }
+  }
+
   @SuppressWarnings("rawtypes")
-  private BeanWrapper getBeanWrapperModel(ResultSet rs, SelectMapper<?> selectMapper,
-      Map<Object, BeanWrapper> idToBeanWrapperModelMap, boolean isTypeModel) throws SQLException {
-    BeanWrapper bwModel = null;
-    Object id = rs.getObject(selectMapper.getResultSetModelIdColumnLabel());
+  private Object getModel(ResultSet rs, ResultSetModelBuilder modelBuilder,
+      Map<Object, Object> idToModelMap, ModelPropertyAccessor populatePropertyAccessor,
+      boolean isTypeModel) throws SQLException {
+    Object model = null;
+    Object id = rs.getObject(modelBuilder.getColumnPlan(rs).getIdColumnIndex());
     id = rs.wasNull() ? null : id; // some drivers are goofy
     if (id != null) {
-      bwModel = idToBeanWrapperModelMap.get(id);
-      if (bwModel == null) {
-        bwModel = selectMapper.buildBeanWrapperModel(rs); // builds the model from resultSet
+      model = idToModelMap.get(id);
+      if (model == null) {
+        model = modelBuilder.buildModel(rs); // builds the model from resultSet
         if (isTypeModel && (RelationshipType.HAS_MANY.equals(relationshipType)
             || RelationshipType.HAS_MANY_THROUGH.equals(relationshipType))) {
           // first time seeing the type model. Make sure collection is clear.
-          Collection collection = (Collection) bwModel.getPropertyValue(propertyName);
+          Collection collection = (Collection) populatePropertyAccessor.getValue(model);
           if (collection.size() > 0) {
             collection.clear();
           }
         }
-        idToBeanWrapperModelMap.put(id, bwModel);
+        idToModelMap.put(id, model);
       }
     }
-    return bwModel;
+    return model;
   }
 
   // The sql generated does not include where, orderBy, offsetLimit
@@ -477,6 +1365,9 @@ public class Query<T> implements IQueryFluent<T> {
     if (relatedType != null) {
       sql += "," + relatedTypeSelectMapper.getColumnsSql();
     }
+    for (SelectMapper<?> joinSelectMapper : getJoinSelectMappers(jtm)) {
+      sql += "," + joinSelectMapper.getColumnsSql();
+    }
 
     if (RelationshipType.HAS_ONE.equals(relationshipType)) {
       sql += hasOneFromClause(typeTableMapping, relatedTypeTableMapping);
@@ -492,6 +1383,13 @@ public class Query<T> implements IQueryFluent<T> {
       sql += " FROM " + typeTableStr;
     }
 
+    for (Relationship join : hasOneJoins) {
+      TableMapping joinTableMapping = jtm.getTableMapping(join.relatedType);
+      sql += " LEFT JOIN "
+          + MapperUtils.tableStrForFrom(join.tableAlias, joinTableMapping.fullyQualifiedTableName())
+          + " on " + typeColumnPrefix + "." + join.joinColumnTypeSide + " = "
+          + join.columnPrefix(jtm) + "." + joinTableMapping.getIdColumnName();
+    }
     return sql;
   }
 
@@ -582,7 +1480,38 @@ public class Query<T> implements IQueryFluent<T> {
         throughJoinTable, 
         throughTypeJoinColumn,
         throughRelatedTypeJoinColumn,
-        propertyName);
+        propertyName,
+        hasOneJoins.stream().map(Relationship::getCacheKey).collect(Collectors.joining("-")),
+        hasManyMerges.stream().map(Relationship::getCacheKey).collect(Collectors.joining("-")));
     // @formatter:on
   }
+
+  // a relationship in addition to the relationship of the query
+  private static class Relationship {
+    private String relationshipType;
+    private final Class<?> relatedType;
+    private final String tableAlias;
+    private String joinColumnTypeSide;
+    private String joinColumnManySide;
+    private String throughJoinTable;
+    private String throughTypeJoinColumn;
+    private String throughRelatedTypeJoinColumn;
+    private String propertyName;
+
+    Relationship(String relationshipType, Class<?> relatedType, String tableAlias) {
+      this.relationshipType = relationshipType;
+      this.relatedType = relatedType;
+      this.tableAlias = tableAlias;
+    }
+
+    String columnPrefix(JdbcTemplateMapper jtm) {
+      return MapperUtils.columnPrefix(tableAlias, jtm.getTableMapping(relatedType).getTableName());
+    }
+
+    String getCacheKey() {
+      return String.join("-", relationshipType, relatedType.getName(), tableAlias,
+          joinColumnTypeSide, joinColumnManySide, throughJoinTable, throughTypeJoinColumn,
+          throughRelatedTypeJoinColumn, propertyName);
+    }
+  }
 }
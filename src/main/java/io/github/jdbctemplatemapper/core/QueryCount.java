@@ -138,6 +138,9 @@ public class QueryCount<T> implements IQueryCountFluent<T> {
    *       MapSqlParameterSource().addValue("status", "COMPLETE").addValue("customerId", 1))
    * </pre>
    * 
+   * Collection values of named parameters used in 'IN' clauses are padded to a small set of
+   * sizes by repeating the last value so that the same sql is reused for different list sizes.
+   * 
    * @param whereClause the whereClause for the type.
    * @param params varArgs for the whereClause.
    * @return interface with the next methods in the chain
@@ -147,7 +150,7 @@ public class QueryCount<T> implements IQueryCountFluent<T> {
       throw new IllegalArgumentException("whereClause cannot be null or blank");
     }
     this.whereClause = whereClause;
-    this.whereParams = params;
+    this.whereParams = MapperUtils.padInClauseParams(params);
     return this;
   }
 
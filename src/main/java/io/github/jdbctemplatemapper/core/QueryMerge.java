@@ -13,21 +13,37 @@
  */
 package io.github.jdbctemplatemapper.core;
 
+import java.sql.Connection;
+import java.sql.JDBCType;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.PropertyAccessorFactory;
-import org.springframework.dao.DataAccessException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.RowMapperResultSetExtractor;
+import org.springframework.jdbc.core.StatementCreatorUtils;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.util.Assert;
+import io.github.jdbctemplatemapper.exception.MapperException;
+import io.github.jdbctemplatemapper.exception.QueryException;
+import io.github.jdbctemplatemapper.querymerge.IQueryMergeExecute;
 import io.github.jdbctemplatemapper.querymerge.IQueryMergeFluent;
 import io.github.jdbctemplatemapper.querymerge.IQueryMergeHasMany;
 import io.github.jdbctemplatemapper.querymerge.IQueryMergeHasOne;
@@ -35,6 +51,7 @@ import io.github.jdbctemplatemapper.querymerge.IQueryMergeJoinColumnManySide;
 import io.github.jdbctemplatemapper.querymerge.IQueryMergeJoinColumnTypeSide;
 import io.github.jdbctemplatemapper.querymerge.IQueryMergeOrderBy;
 import io.github.jdbctemplatemapper.querymerge.IQueryMergePopulateProperty;
+import io.github.jdbctemplatemapper.querymerge.IQueryMergeSortInMemory;
 import io.github.jdbctemplatemapper.querymerge.IQueryMergeThroughJoinColumns;
 import io.github.jdbctemplatemapper.querymerge.IQueryMergeThroughJoinTable;
 import io.github.jdbctemplatemapper.querymerge.IQueryMergeType;
@@ -52,7 +69,9 @@ import io.github.jdbctemplatemapper.querymerge.IQueryMergeType;
  * @author ajoseph
  */
 public class QueryMerge<T> implements IQueryMergeFluent<T> {
-  private static final int IN_CLAUSE_CHUNK_SIZE = 100;
+  private static final String TEMP_TABLE_NAME = "jtm_merge_values";
+  private static final String TEMP_TABLE_COLUMN_NAME = "merge_value";
+
   private Class<T> type;
   private String relationshipType;
   private Class<?> relatedType;
@@ -65,6 +84,7 @@ public class QueryMerge<T> implements IQueryMergeFluent<T> {
   private String throughTypeJoinColumn;
   private String throughRelatedTypeJoinColumn;
   private String orderBy;
+  private boolean sortInMemory;
 
   private QueryMerge(Class<T> type) {
     this.type = type;
@@ -254,70 +274,161 @@ public class QueryMerge<T> implements IQueryMergeFluent<T> {
     return this;
   }
 
+  /**
+   * Sorts the hasMany/hasMany through collections in memory after the merge instead of using an sql
+   * ORDER BY. The orderBy clause has to be a comma separated list of columns of the related table
+   * each optionally followed by ASC or DESC, for example "order_line_id DESC". The columns are
+   * compared using their mapped property values with nulls sorted as larger than any value.
+   * Useful when the merge issues multiple 'IN' queries since the sql ORDER BY only orders the
+   * records of each query.
+   *
+   * @return interface with the next methods in the chain
+   */
+  public IQueryMergeSortInMemory<T> sortInMemory() {
+    this.sortInMemory = true;
+    return this;
+  }
+
   /**
    * The query executes an sql 'IN' clause to get the related side (hasOne, hasMany, hasMany
    * through) objects and merges those with the objects in the mergeList.
    *
    * <pre>
-   * If the the mergeList size is larger than 100, multiple 'IN' queries will be issued with each query
-   * having up to 100 IN clause parameters to get the records.
+   * For databases which support array parameters (PostgreSQL, H2) a single query is issued with all
+   * the values bound as an array. For other databases if the mergeList size is larger than the 'IN'
+   * clause chunk size (default 100, see JdbcTemplateMapper.withInClauseChunkSize()) multiple 'IN'
+   * queries will be issued with each query having up to chunk size IN clause parameters.
    * </pre>
    *
    * @param jdbcTemplateMapper the jdbcTemplateMapper
    * @param mergeList a list of objects of type.
    */
   public void execute(JdbcTemplateMapper jdbcTemplateMapper, List<T> mergeList) {
-    Assert.notNull(jdbcTemplateMapper, "jdbcTemplateMapper cannot be null");
+    executeAll(jdbcTemplateMapper, mergeList, Collections.singletonList(this));
+  }
 
-    String cacheKey = getCacheKey();
-    if (jdbcTemplateMapper.getQueryMergeSqlCache().get(cacheKey) == null) {
-      QueryValidator.validate(jdbcTemplateMapper, type, relationshipType, relatedType,
-          joinColumnTypeSide, joinColumnManySide, propertyName, throughJoinTable,
-          throughTypeJoinColumn, throughRelatedTypeJoinColumn);
+  /**
+   * Executes multiple QueryMerges on the same mergeList. The mergeList is traversed once to collect
+   * the values of all the relationships and then the related queries are issued. If an executor is
+   * configured with JdbcTemplateMapper.withQueryMergeExecutor() the related queries run
+   * concurrently outside of the transaction of the caller. The results are always merged on the
+   * calling thread in the order of the queryMerges.
+   *
+   * <pre>
+   * Example:
+   * QueryMerge.executeAll(jdbcTemplateMapper, orders,
+   *    QueryMerge.type(Order.class).hasOne(Customer.class)
+   *              .joinColumnTypeSide("customer_id").populateProperty("customer"),
+   *    QueryMerge.type(Order.class).hasMany(OrderLine.class)
+   *              .joinColumnManySide("order_id").populateProperty("orderLines"));
+   * </pre>
+   *
+   * @param <T> the type
+   * @param jdbcTemplateMapper the jdbcTemplateMapper
+   * @param mergeList a list of objects of type.
+   * @param queryMerges the QueryMerges. Each has to populate a different property.
+   */
+  @SafeVarargs
+  public static <T> void executeAll(JdbcTemplateMapper jdbcTemplateMapper, List<T> mergeList,
+      IQueryMergeExecute<T>... queryMerges) {
+    Assert.notNull(queryMerges, "queryMerges cannot be null");
+    executeAll(jdbcTemplateMapper, mergeList, Arrays.asList(queryMerges));
+  }
+
+  static <T> void executeAll(JdbcTemplateMapper jtm, List<T> mergeList,
+      List<IQueryMergeExecute<T>> queryMerges) {
+    Assert.notNull(jtm, "jdbcTemplateMapper cannot be null");
+    if (queryMerges.isEmpty()) {
+      throw new IllegalArgumentException("queryMerges cannot be empty");
     }
 
-    if (RelationshipType.HAS_ONE.equals(relationshipType)) {
-      if (MapperUtils.isNotBlank(orderBy)) {
+    List<MergeRun<T>> mergeRuns = new ArrayList<>(queryMerges.size());
+    Set<String> propertyNames = new HashSet<>();
+    for (IQueryMergeExecute<T> queryMerge : queryMerges) {
+      if (!(queryMerge instanceof QueryMerge)) {
+        throw new IllegalArgumentException("queryMerges have to be created with QueryMerge.type()");
+      }
+      QueryMerge<T> qm = (QueryMerge<T>) queryMerge;
+      if (!mergeRuns.isEmpty() && mergeRuns.get(0).queryMerge.type != qm.type) {
+        throw new IllegalArgumentException("queryMerges have to be for the same type");
+      }
+      if (!propertyNames.add(qm.propertyName)) {
         throw new IllegalArgumentException(
-            "For QueryMerge hasOne relationships orderBy is not supported."
-                + " The order is already dictated by the mergeList order");
+            "queryMerges cannot populate the same property " + qm.propertyName);
       }
-      processHasOne(jdbcTemplateMapper, mergeList, type, relatedType, cacheKey);
-    } else if (RelationshipType.HAS_MANY.equals(relationshipType)) {
-      processHasMany(jdbcTemplateMapper, mergeList, type, relatedType, cacheKey);
-    } else if (RelationshipType.HAS_MANY_THROUGH.equals(relationshipType)) {
-      processHasManyThrough(jdbcTemplateMapper, mergeList, type, relatedType, cacheKey);
+      mergeRuns.add(qm.validate(jtm));
     }
-  }
-
-  @SuppressWarnings({"unchecked", "rawtypes"})
-  private void processHasOne(JdbcTemplateMapper jtm, List<T> mergeList, Class<?> type,
-      Class<?> relatedType, String cacheKey) {
 
     if (MapperUtils.isEmpty(mergeList)) {
       return;
     }
 
-    TableMapping typeTableMapping = jtm.getTableMapping(type);
-    TableMapping relatedTypeTableMapping = jtm.getTableMapping(relatedType);
-    String joinPropertyName = typeTableMapping.getPropertyName(joinColumnTypeSide);
-
-    List<BeanWrapper> bwMergeList = new ArrayList<>(mergeList.size());
-    Set params = new HashSet<>(mergeList.size());
+    // single pass over the mergeList. The type id to model map is shared by the hasMany merges
+    TableMapping typeTableMapping = jtm.getTableMapping(mergeRuns.get(0).queryMerge.type);
+    List<T> nonNullMergeList = new ArrayList<>(mergeList.size());
+    Map<Object, Object> idToTypeModelMap = new HashMap<>(mergeList.size());
     for (T obj : mergeList) {
       if (obj != null) {
-        BeanWrapper bw = PropertyAccessorFactory.forBeanPropertyAccess(obj);
-        bw.setPropertyValue(propertyName, null);
-        bwMergeList.add(bw);
-        Object joinPropertyValue = bw.getPropertyValue(joinPropertyName);
-        if (joinPropertyValue != null) {
-          params.add(joinPropertyValue);
+        nonNullMergeList.add(obj);
+        Object idValue = typeTableMapping.getIdValue(obj);
+        if (idValue != null) {
+          idToTypeModelMap.put(idValue, obj);
+        }
+        for (MergeRun<T> mergeRun : mergeRuns) {
+          mergeRun.prepare(obj, idValue);
         }
       }
     }
+
+    // when there are multiple merges and an executor the merges run concurrently instead of the
+    // chunks of each merge
+    boolean parallelMerges = jtm.getQueryMergeExecutor() != null && mergeRuns.size() > 1;
+    List<MergeQuery<?>> mergeQueries = new ArrayList<>(mergeRuns.size());
+    for (MergeRun<T> mergeRun : mergeRuns) {
+      MergeQuery<?> mergeQuery =
+          mergeRun.createMergeQuery(jtm, nonNullMergeList, idToTypeModelMap, !parallelMerges);
+      if (mergeQuery != null) {
+        mergeQueries.add(mergeQuery);
+      }
+    }
+
+    if (parallelMerges) {
+      List<Supplier<Object>> tasks = new ArrayList<>(mergeQueries.size());
+      for (MergeQuery<?> mergeQuery : mergeQueries) {
+        tasks.add(() -> {
+          mergeQuery.query();
+          return null;
+        });
+      }
+      runInParallel(jtm, tasks);
+    } else {
+      mergeQueries.forEach(MergeQuery::query);
+    }
+    mergeQueries.forEach(MergeQuery::merge);
+  }
+
+  private MergeRun<T> validate(JdbcTemplateMapper jtm) {
+    String cacheKey = getCacheKey();
+    if (jtm.getQueryMergeSqlCache().get(cacheKey) == null) {
+      QueryValidator.validate(jtm, type, relationshipType, relatedType, joinColumnTypeSide,
+          joinColumnManySide, propertyName, throughJoinTable, throughTypeJoinColumn,
+          throughRelatedTypeJoinColumn);
+    }
+    if (RelationshipType.HAS_ONE.equals(relationshipType) && MapperUtils.isNotBlank(orderBy)) {
+      throw new IllegalArgumentException(
+          "For QueryMerge hasOne relationships orderBy is not supported."
+              + " The order is already dictated by the mergeList order");
+    }
+    return new MergeRun<>(this, jtm, cacheKey);
+  }
+
+  private MergeQuery<?> processHasOne(JdbcTemplateMapper jtm, MergeRun<T> mergeRun,
+      List<T> nonNullMergeList, boolean parallelChunks) {
+    Set<Object> params = mergeRun.joinValues;
     if (MapperUtils.isEmpty(params)) {
-      return;
+      return null;
     }
+    TableMapping relatedTypeTableMapping = jtm.getTableMapping(relatedType);
 
     String relatedColumnPrefix =
         MapperUtils.columnPrefix(relatedTypeTableAlias, relatedTypeTableMapping.getTableName());
@@ -326,7 +437,7 @@ public class QueryMerge<T> implements IQueryMergeFluent<T> {
         relatedColumnPrefix, MapperUtils.RELATED_TABLE_COL_ALIAS_PREFIX);
 
     boolean foundInCache = false;
-    String sql = jtm.getQueryMergeSqlCache().get(cacheKey);
+    String sql = jtm.getQueryMergeSqlCache().get(mergeRun.cacheKey);
     if (sql == null) {
 
       String relatedTableStr = MapperUtils.tableStrForFrom(relatedTypeTableAlias,
@@ -334,84 +445,50 @@ public class QueryMerge<T> implements IQueryMergeFluent<T> {
 
       // @formatter:off
       sql = "SELECT " + selectMapperRelatedType.getColumnsSql() 
-          + " FROM " + relatedTableStr
-          + " WHERE " + relatedTypeTableMapping.getIdColumnName() + " IN (:joinPropertyTypeSideValues)";
+          + " FROM " + relatedTableStr;
       
       // @formatter:on
     } else {
       foundInCache = true;
     }
 
-    String relatedModelIdPropName = relatedTypeTableMapping.getIdPropertyName();
-    Map<Object, Object> idToRelatedModelMap = new HashMap<>(mergeList.size());
-
-    ResultSetExtractor<List<T>> rsExtractor = new ResultSetExtractor<List<T>>() {
-      public List<T> extractData(ResultSet rs) throws SQLException, DataAccessException {
-        while (rs.next()) {
-          BeanWrapper bwRelatedModel = selectMapperRelatedType.buildBeanWrapperModel(rs);
-          if (bwRelatedModel != null) {
-            idToRelatedModelMap.put(bwRelatedModel.getPropertyValue(relatedModelIdPropName),
-                bwRelatedModel.getWrappedInstance());
+    Map<Object, Object> idToRelatedModelMap = new HashMap<>(nonNullMergeList.size());
+    String partialSql = sql;
+    boolean putInCache = !foundInCache;
+    return new MergeQuery<Object>(
+        () -> queryForValues(jtm, partialSql, relatedTypeTableMapping.getIdColumnName(),
+            relatedTypeTableMapping.getIdPropertyMapping().getColumnSqlDataType(), null, params,
+            () -> ResultSetModelBuilder.rowMapper(selectMapperRelatedType), parallelChunks),
+        relatedModel -> {
+          if (relatedModel != null) {
+            idToRelatedModelMap.put(relatedTypeTableMapping.getIdValue(relatedModel), relatedModel);
           }
-        }
-        return null;
-      }
-    };
-
-    // some databases have limits on number of entries in a 'IN' clause
-    // Chunk the list and make multiple calls as needed.
-    List<List<?>> chunkedJoinPropertyTypeSideValues =
-        MapperUtils.chunkTheList(new ArrayList(params), IN_CLAUSE_CHUNK_SIZE);
-    for (List<?> joinPropertyTypeSideValues : chunkedJoinPropertyTypeSideValues) {
-      MapSqlParameterSource queryParams =
-          new MapSqlParameterSource("joinPropertyTypeSideValues", joinPropertyTypeSideValues);
-      jtm.getNamedParameterJdbcTemplate().query(sql, queryParams, rsExtractor);
-    }
-
-    for (BeanWrapper bw : bwMergeList) {
-      // find the matching related model
-      Object relatedModel = idToRelatedModelMap.get(bw.getPropertyValue(joinPropertyName));
-      if (relatedModel != null) {
-        bw.setPropertyValue(propertyName, relatedModel);
-      }
-    }
-    // code reaches here query success, handle caching
-    if (!foundInCache) {
-      jtm.getQueryMergeSqlCache().put(cacheKey, sql);
-    }
+        }, () -> {
+          for (T obj : nonNullMergeList) {
+            // find the matching related model
+            Object relatedModel =
+                idToRelatedModelMap.get(mergeRun.joinPropertyAccessor.getValue(obj));
+            if (relatedModel != null) {
+              mergeRun.populatePropertyAccessor.setValue(obj, relatedModel);
+            }
+          }
+          // code reaches here query success, handle caching
+          if (putInCache) {
+            jtm.getQueryMergeSqlCache().put(mergeRun.cacheKey, partialSql);
+          }
+        });
   }
 
   @SuppressWarnings({"rawtypes", "unchecked"})
-  private void processHasMany(JdbcTemplateMapper jtm, List<T> mergeList, Class<?> type,
-      Class<?> relatedType, String cacheKey) {
-
-    if (MapperUtils.isEmpty(mergeList)) {
-      return;
+  private MergeQuery<?> processHasMany(JdbcTemplateMapper jtm, MergeRun<T> mergeRun,
+      Map<Object, Object> idToTypeModelMap, boolean parallelChunks) {
+    if (idToTypeModelMap.isEmpty()) {
+      return null;
     }
-    TableMapping typeTableMapping = jtm.getTableMapping(type);
     TableMapping relatedTypeTableMapping = jtm.getTableMapping(relatedType);
     String joinPropertyName = relatedTypeTableMapping.getPropertyName(joinColumnManySide);
-    String typeIdPropName = typeTableMapping.getIdPropertyName();
-    Map<Object, BeanWrapper> idToBeanWrapperTypeModelMap = new HashMap<>(mergeList.size());
-    Set params = new HashSet<>(mergeList.size());
-    for (Object obj : mergeList) {
-      if (obj != null) {
-        BeanWrapper bwTypeModel = PropertyAccessorFactory.forBeanPropertyAccess(obj);
-        Object idValue = bwTypeModel.getPropertyValue(typeIdPropName);
-        if (idValue != null) {
-          params.add(idValue);
-          // clear collection to address edge case where collection is initialized with values
-          Collection collection = (Collection) bwTypeModel.getPropertyValue(propertyName);
-          if (collection.size() > 0) {
-            collection.clear();
-          }
-          idToBeanWrapperTypeModelMap.put(idValue, bwTypeModel);
-        }
-      }
-    }
-    if (MapperUtils.isEmpty(params)) {
-      return;
-    }
+    ModelPropertyAccessor joinPropertyAccessor =
+        relatedTypeTableMapping.getModelAccessor().getPropertyAccessor(joinPropertyName);
 
     String relatedColumnPrefix =
         MapperUtils.columnPrefix(relatedTypeTableAlias, relatedTypeTableMapping.getTableName());
@@ -420,7 +497,7 @@ public class QueryMerge<T> implements IQueryMergeFluent<T> {
         MapperUtils.RELATED_TABLE_COL_ALIAS_PREFIX);
 
     boolean foundInCache = false;
-    String sql = jtm.getQueryMergeSqlCache().get(cacheKey);
+    String sql = jtm.getQueryMergeSqlCache().get(mergeRun.cacheKey);
     if (sql == null) {
       String relatedTableStr =
           relatedTypeTableAlias == null ? relatedTypeTableMapping.fullyQualifiedTableName()
@@ -428,87 +505,49 @@ public class QueryMerge<T> implements IQueryMergeFluent<T> {
 
       // @formatter:off
       sql = "SELECT " + selectMapper.getColumnsSql() 
-          + " FROM " + relatedTableStr 
-          + " WHERE " + joinColumnManySide
-          + " IN (:typeIds)";
+          + " FROM " + relatedTableStr;
       // @formatter:on
     } else {
       foundInCache = true;
     }
 
-    String partialSqlForCache = sql;
-    if (MapperUtils.isNotBlank(orderBy)) {
-      sql += " ORDER BY " + orderBy;
-    }
-
-    ResultSetExtractor<List<T>> rsExtractor = new ResultSetExtractor<List<T>>() {
-      public List<T> extractData(ResultSet rs) throws SQLException, DataAccessException {
-        while (rs.next()) {
-          BeanWrapper bwRelatedModel = selectMapper.buildBeanWrapperModel(rs);
-          if (bwRelatedModel != null) {
-            BeanWrapper bwTypeModel =
-                idToBeanWrapperTypeModelMap.get(bwRelatedModel.getPropertyValue(joinPropertyName));
-            if (bwTypeModel != null) {
+    String partialSql = sql;
+    boolean putInCache = !foundInCache;
+    Comparator<Object> comparator = sortInMemory ? buildComparator(relatedTypeTableMapping) : null;
+    return new MergeQuery<Object>(
+        () -> queryForValues(jtm, partialSql, joinColumnManySide,
+            relatedTypeTableMapping.getPropertySqlType(joinPropertyName), sqlOrderBy(),
+            idToTypeModelMap.keySet(), () -> ResultSetModelBuilder.rowMapper(selectMapper),
+            parallelChunks),
+        relatedModel -> {
+          if (relatedModel != null) {
+            Object typeModel = idToTypeModelMap.get(joinPropertyAccessor.getValue(relatedModel));
+            if (typeModel != null) {
               // already validated so we know collection is initialized
-              Collection collection = (Collection) bwTypeModel.getPropertyValue(propertyName);
-              collection.add(bwRelatedModel.getWrappedInstance());
+              Collection collection =
+                  (Collection) mergeRun.populatePropertyAccessor.getValue(typeModel);
+              collection.add(relatedModel);
             }
           }
-        }
-        return null;
-      }
-    };
-
-    // some databases have limits on number of entries in a 'IN' clause
-    // Chunk the list and make multiple calls as needed.
-    List<List<?>> chunkedTypeIds =
-        MapperUtils.chunkTheList(new ArrayList(params), IN_CLAUSE_CHUNK_SIZE);
-    for (List typeIds : chunkedTypeIds) {
-      MapSqlParameterSource queryParams = new MapSqlParameterSource("typeIds", typeIds);
-      jtm.getNamedParameterJdbcTemplate().query(sql, queryParams, rsExtractor);
-    }
-
-    // code reaches here query success, handle caching
-    if (!foundInCache) {
-      jtm.getQueryMergeSqlCache().put(cacheKey, partialSqlForCache);
-    }
+        }, () -> {
+          sortCollections(mergeRun, idToTypeModelMap, comparator);
+          // code reaches here query success, handle caching
+          if (putInCache) {
+            jtm.getQueryMergeSqlCache().put(mergeRun.cacheKey, partialSql);
+          }
+        });
   }
 
   @SuppressWarnings({"rawtypes", "unchecked"})
-  private void processHasManyThrough(JdbcTemplateMapper jtm, List<T> mergeList, Class<?> type,
-      Class<?> relatedType, String cacheKey) {
-
-    if (MapperUtils.isEmpty(mergeList)) {
-      return;
+  private MergeQuery<?> processHasManyThrough(JdbcTemplateMapper jtm, MergeRun<T> mergeRun,
+      Map<Object, Object> idToTypeModelMap, boolean parallelChunks) {
+    if (idToTypeModelMap.isEmpty()) {
+      return null;
     }
     TableMapping typeTableMapping = jtm.getTableMapping(type);
     TableMapping relatedTypeTableMapping = jtm.getTableMapping(relatedType);
 
-    String typeIdPropName = typeTableMapping.getIdPropertyName();
-
-    // key - typeId, value - bean wrapped type model from mergeList
-    Map<Object, BeanWrapper> idToBeanWrapperTypeModelMap = new HashMap<>(mergeList.size());
-    Set params = new HashSet<>(mergeList.size());
-    for (Object obj : mergeList) {
-      if (obj != null) {
-        BeanWrapper bwTypeModel = PropertyAccessorFactory.forBeanPropertyAccess(obj);
-        Object idValue = bwTypeModel.getPropertyValue(typeIdPropName);
-        if (idValue != null) {
-          params.add(idValue);
-          // clear collection to address edge case where collection is initialized with values
-          Collection collection = (Collection) bwTypeModel.getPropertyValue(propertyName);
-          if (collection.size() > 0) {
-            collection.clear();
-          }
-          idToBeanWrapperTypeModelMap.put(idValue, bwTypeModel);
-        }
-      }
-    }
-    if (MapperUtils.isEmpty(params)) {
-      return;
-    }
-
-    // The select statement is build in such a way the buildBeanWrapperModel(rs) returns the
+    // The select statement is build in such a way the type model builder returns the
     // type id value. Note: For QueryMerge there is no alias for type table
     SelectMapper<?> selectMapperType = jtm.getSelectMapperInternal(type,
         typeTableMapping.getTableName(), MapperUtils.TYPE_TABLE_COL_ALIAS_PREFIX);
@@ -521,7 +560,7 @@ public class QueryMerge<T> implements IQueryMergeFluent<T> {
         relatedColumnPrefix, MapperUtils.RELATED_TABLE_COL_ALIAS_PREFIX);
 
     boolean foundInCache = false;
-    String sql = jtm.getQueryMergeSqlCache().get(cacheKey);
+    String sql = jtm.getQueryMergeSqlCache().get(mergeRun.cacheKey);
     if (sql == null) {
       String relatedTableStr =
           relatedTypeTableAlias == null ? relatedTypeTableMapping.fullyQualifiedTableName()
@@ -538,50 +577,319 @@ public class QueryMerge<T> implements IQueryMergeFluent<T> {
               typeTableMapping)
           + " LEFT JOIN " + relatedTableStr + " on "
           + MapperUtils.getTableNameOnly(throughJoinTable) + "." + throughRelatedTypeJoinColumn
-          + " = " + onRelatedPrefix + "." + relatedTypeTableMapping.getIdColumnName() + " WHERE "
-          + MapperUtils.getTableNameOnly(throughJoinTable) + "." + throughTypeJoinColumn
-          + " IN (:typeIds)";
+          + " = " + onRelatedPrefix + "." + relatedTypeTableMapping.getIdColumnName();
     } else {
       foundInCache = true;
     }
 
-    String partialSqlForCache = sql;
-    if (MapperUtils.isNotBlank(orderBy)) {
-      sql += " ORDER BY " + orderBy;
-    }
-
-    ResultSetExtractor<List<T>> rsExtractor = new ResultSetExtractor<List<T>>() {
-      public List<T> extractData(ResultSet rs) throws SQLException, DataAccessException {
-        while (rs.next()) {
-          BeanWrapper bwResultSetType = selectMapperType.buildBeanWrapperModel(rs);
-          if (bwResultSetType != null) {
-            BeanWrapper bwRelatedModel = selectMapperRelatedType.buildBeanWrapperModel(rs);
-            if (bwRelatedModel != null) {
-              Object typeIdValue = bwResultSetType.getPropertyValue(typeIdPropName);
-              BeanWrapper bw = idToBeanWrapperTypeModelMap.get(typeIdValue);
-              if (bw != null) {
-                Collection collection = (Collection) bw.getPropertyValue(propertyName);
-                collection.add(bwRelatedModel.getWrappedInstance());
-              }
-            }
+    // each row is mapped to the type id and the related model. Every query gets its own row mapper
+    // so that the column plans are not shared between concurrent chunk queries.
+    Supplier<RowMapper<Object[]>> rowMapperSupplier = () -> {
+      ResultSetModelBuilder typeModelBuilder = new ResultSetModelBuilder(selectMapperType);
+      ResultSetModelBuilder relatedModelBuilder =
+          new ResultSetModelBuilder(selectMapperRelatedType);
+      return (rs, rowNum) -> {
+        Object resultSetTypeModel = typeModelBuilder.buildModel(rs);
+        if (resultSetTypeModel != null) {
+          Object relatedModel = relatedModelBuilder.buildModel(rs);
+          if (relatedModel != null) {
+            return new Object[] {typeTableMapping.getIdValue(resultSetTypeModel), relatedModel};
           }
         }
         return null;
+      };
+    };
+
+    String partialSql = sql;
+    boolean putInCache = !foundInCache;
+    Comparator<Object> comparator = sortInMemory ? buildComparator(relatedTypeTableMapping) : null;
+    return new MergeQuery<Object[]>(
+        () -> queryForValues(jtm, partialSql,
+            MapperUtils.getTableNameOnly(throughJoinTable) + "." + throughTypeJoinColumn,
+            typeTableMapping.getIdPropertyMapping().getColumnSqlDataType(), sqlOrderBy(),
+            idToTypeModelMap.keySet(), rowMapperSupplier, parallelChunks),
+        row -> {
+          if (row != null) {
+            Object typeModel = idToTypeModelMap.get(row[0]);
+            if (typeModel != null) {
+              Collection collection =
+                  (Collection) mergeRun.populatePropertyAccessor.getValue(typeModel);
+              collection.add(row[1]);
+            }
+          }
+        }, () -> {
+          sortCollections(mergeRun, idToTypeModelMap, comparator);
+          // code reaches here query success, handle caching
+          if (putInCache) {
+            jtm.getQueryMergeSqlCache().put(mergeRun.cacheKey, partialSql);
+          }
+        });
+  }
+
+  private String sqlOrderBy() {
+    return sortInMemory ? null : orderBy;
+  }
+
+  // The comparator for sortInMemory() built from the orderBy columns of the related table.
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private Comparator<Object> buildComparator(TableMapping relatedTypeTableMapping) {
+    if (MapperUtils.isBlank(orderBy)) {
+      throw new IllegalArgumentException("sortInMemory() needs an orderBy");
+    }
+    Comparator<Object> comparator = null;
+    for (String term : orderBy.trim().split("\\s*,\\s*")) {
+      String[] parts = term.trim().split("\\s+");
+      boolean desc = parts.length == 2 && "DESC".equalsIgnoreCase(parts[1]);
+      if (parts.length > 2 || (parts.length == 2 && !desc && !"ASC".equalsIgnoreCase(parts[1]))) {
+        throw new QueryException("Invalid orderBy " + orderBy + " for sortInMemory(). " + term
+            + " has to be a column optionally followed by ASC or DESC");
+      }
+      // the column can be prefixed with the table name or alias
+      String columnName = MapperUtils.toLowerCase(parts[0].substring(parts[0].indexOf('.') + 1));
+      String propName = relatedTypeTableMapping.getPropertyName(columnName);
+      Class<?> propertyType = relatedTypeTableMapping.getPropertyType(propName);
+      if (propName == null
+          || !(propertyType.isPrimitive() || Comparable.class.isAssignableFrom(propertyType))) {
+        throw new QueryException("Invalid orderBy " + orderBy + " for sortInMemory(). " + parts[0]
+            + " is not a mapped comparable column of " + relatedType.getSimpleName());
+      }
+      ModelPropertyAccessor accessor =
+          relatedTypeTableMapping.getModelAccessor().getPropertyAccessor(propName);
+      Comparator<Object> termComparator = Comparator.comparing(
+          obj -> (Comparable) accessor.getValue(obj),
+          Comparator.nullsLast(Comparator.naturalOrder()));
+      if (desc) {
+        termComparator = termComparator.reversed();
+      }
+      comparator = comparator == null ? termComparator : comparator.thenComparing(termComparator);
+    }
+    return comparator;
+  }
+
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private void sortCollections(MergeRun<T> mergeRun, Map<Object, Object> idToTypeModelMap,
+      Comparator<Object> comparator) {
+    if (comparator == null) {
+      return;
+    }
+    for (Object typeModel : idToTypeModelMap.values()) {
+      Collection collection = (Collection) mergeRun.populatePropertyAccessor.getValue(typeModel);
+      if (collection.size() > 1) {
+        if (collection instanceof List) {
+          ((List) collection).sort(comparator);
+        } else {
+          // for example a LinkedHashSet
+          List<Object> sorted = new ArrayList<>(collection);
+          sorted.sort(comparator);
+          collection.clear();
+          collection.addAll(sorted);
+        }
+      }
+    }
+  }
+
+  // Runs the sql with a where clause matching the column against the values and returns the mapped
+  // rows. When the dialect supports array parameters of the sql type a single query is issued with
+  // the values bound as an array. Otherwise since some databases have limits on number of entries
+  // in a 'IN' clause the values are chunked and multiple 'IN' queries are issued. Every query uses
+  // a new row mapper from the supplier since the chunks can be queried concurrently.
+  private <R> List<R> queryForValues(JdbcTemplateMapper jtm, String partialSql,
+      String columnName, int sqlType, String orderBy, Collection<?> values,
+      Supplier<RowMapper<R>> rowMapperSupplier, boolean parallelChunks) {
+    String orderBySql = MapperUtils.isNotBlank(orderBy) ? " ORDER BY " + orderBy : "";
+    IDialect dialect = jtm.getDialect();
+    if (jtm.useArrayParameter(sqlType)) {
+      String sql = partialSql + " WHERE " + dialect.getArrayParameterCondition(columnName)
+          + orderBySql;
+      List<Object> sortedValues = MapperUtils.sortIfComparable(values);
+      return jtm.getJdbcTemplate()
+                .query(sql, ps -> jtm.bindArrayParameter(ps, 1, sqlType, sortedValues),
+                    rowMapperSupplier.get());
+    } else if (values.size() > jtm.getQueryMergeTempTableThreshold()
+        && dialect.getCreateTempTableSql(tempTableName(dialect, sqlType), TEMP_TABLE_COLUMN_NAME,
+            sqlType) != null) {
+      return queryUsingTempTable(jtm, partialSql, columnName, sqlType, orderBySql, values,
+          new RowMapperResultSetExtractor<>(rowMapperSupplier.get()));
+    } else {
+      // the chunks are padded so that only a few distinct 'IN' clause sizes are issued
+      String sql = partialSql + " WHERE " + columnName + " IN (:values)" + orderBySql;
+      List<Supplier<List<R>>> chunkQueries = new ArrayList<>();
+      for (List<?> chunk : MapperUtils.chunkAndPad(values, jtm.getInClauseChunkSize())) {
+        chunkQueries.add(() -> jtm.getNamedParameterJdbcTemplate()
+                                  .query(sql, new MapSqlParameterSource("values", chunk),
+                                      rowMapperSupplier.get()));
+      }
+      List<List<R>> chunkRows = null;
+      if (parallelChunks && jtm.getQueryMergeExecutor() != null && chunkQueries.size() > 1) {
+        chunkRows = runInParallel(jtm, chunkQueries);
+      } else {
+        chunkRows = chunkQueries.stream().map(Supplier::get).collect(Collectors.toList());
+      }
+      List<R> rows = new ArrayList<>();
+      chunkRows.forEach(rows::addAll);
+      return rows;
+    }
+  }
+
+  // For a large number of values the values are batch inserted into a session temporary table and
+  // a single query is issued with the where clause selecting from the temporary table. Everything
+  // is done on the same connection (within the transaction of the caller if any) and the temporary
+  // table is dropped (or emptied, see IDialect.getDropTempTableSql()) at the end.
+  private <R> R queryUsingTempTable(JdbcTemplateMapper jtm, String partialSql, String columnName,
+      int sqlType, String orderBySql, Collection<?> values, ResultSetExtractor<R> rsExtractor) {
+    IDialect dialect = jtm.getDialect();
+    String tempTableName = tempTableName(dialect, sqlType);
+    String sql = partialSql + " WHERE " + columnName + " IN (SELECT " + TEMP_TABLE_COLUMN_NAME
+        + " FROM " + tempTableName + ")" + orderBySql;
+    return jtm.getJdbcTemplate().execute((Connection con) -> {
+      try (Statement stmt = con.createStatement()) {
+        stmt.execute(dialect.getCreateTempTableSql(tempTableName, TEMP_TABLE_COLUMN_NAME, sqlType));
+      }
+      try {
+        try (PreparedStatement ps = con.prepareStatement(
+            "INSERT INTO " + tempTableName + " (" + TEMP_TABLE_COLUMN_NAME + ") VALUES (?)")) {
+          for (List<?> batch : MapperUtils.chunkTheList(new ArrayList<>(values),
+              jtm.getBatchSize())) {
+            for (Object value : batch) {
+              StatementCreatorUtils.setParameterValue(ps, 1, sqlType, value);
+              ps.addBatch();
+            }
+            ps.executeBatch();
+          }
+        }
+        try (PreparedStatement ps = con.prepareStatement(sql);
+            ResultSet rs = ps.executeQuery()) {
+          return rsExtractor.extractData(rs);
+        }
+      } finally {
+        try (Statement stmt = con.createStatement()) {
+          stmt.execute(dialect.getDropTempTableSql(tempTableName));
+        }
+      }
+    });
+  }
+
+  // a table per sql type since a dialect may keep the emptied table for the rest of the session
+  private static String tempTableName(IDialect dialect, int sqlType) {
+    String typeName = null;
+    try {
+      typeName = JDBCType.valueOf(sqlType).getName();
+    } catch (IllegalArgumentException e) {
+      typeName = "other";
+    }
+    return dialect.getTempTableName(TEMP_TABLE_NAME + "_" + typeName.toLowerCase());
+  }
+
+  // Runs the tasks concurrently on the QueryMerge executor with at most max parallelism tasks
+  // running at a time. The results are returned in task order so that the merge can be done on the
+  // calling thread in the same order as a sequential run.
+  @SuppressWarnings("unchecked")
+  private static <R> List<R> runInParallel(JdbcTemplateMapper jtm, List<Supplier<R>> tasks) {
+    Object[] results = new Object[tasks.size()];
+    AtomicInteger nextTask = new AtomicInteger();
+    AtomicBoolean failed = new AtomicBoolean();
+    Runnable worker = () -> {
+      int i;
+      while (!failed.get() && (i = nextTask.getAndIncrement()) < tasks.size()) {
+        try {
+          results[i] = tasks.get(i).get();
+        } catch (RuntimeException e) {
+          failed.set(true);
+          throw e;
+        }
       }
     };
 
-    // some databases have limits on number of entries in a 'IN' clause
-    // Chunk the list and make multiple calls as needed.
-    Collection<List<?>> chunkedTypeIds =
-        MapperUtils.chunkTheList(new ArrayList(params), IN_CLAUSE_CHUNK_SIZE);
-    for (List typeIds : chunkedTypeIds) {
-      MapSqlParameterSource queryParams = new MapSqlParameterSource("typeIds", typeIds);
-      jtm.getNamedParameterJdbcTemplate().query(sql, queryParams, rsExtractor);
+    int workerCount = Math.min(jtm.getQueryMergeMaxParallelism(), tasks.size());
+    List<CompletableFuture<Void>> futures = new ArrayList<>(workerCount);
+    for (int i = 0; i < workerCount; i++) {
+      futures.add(CompletableFuture.runAsync(worker, jtm.getQueryMergeExecutor()));
+    }
+    try {
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new MapperException("QueryMerge query failed", e);
+    }
+    return (List<R>) Arrays.asList(results);
+  }
+
+  // The state of a QueryMerge for a single execution. QueryMerge itself holds no execution state
+  // so it can be reused.
+  private static class MergeRun<T> {
+    private final QueryMerge<T> queryMerge;
+    private final String cacheKey;
+    private final ModelPropertyAccessor populatePropertyAccessor;
+    private ModelPropertyAccessor joinPropertyAccessor; // hasOne only
+    private Set<Object> joinValues; // hasOne only
+
+    MergeRun(QueryMerge<T> queryMerge, JdbcTemplateMapper jtm, String cacheKey) {
+      this.queryMerge = queryMerge;
+      this.cacheKey = cacheKey;
+      TableMapping typeTableMapping = jtm.getTableMapping(queryMerge.type);
+      ModelAccessor typeModelAccessor = typeTableMapping.getModelAccessor();
+      this.populatePropertyAccessor = typeModelAccessor.getPropertyAccessor(queryMerge.propertyName);
+      if (RelationshipType.HAS_ONE.equals(queryMerge.relationshipType)) {
+        this.joinPropertyAccessor = typeModelAccessor.getPropertyAccessor(
+            typeTableMapping.getPropertyName(queryMerge.joinColumnTypeSide));
+        this.joinValues = new HashSet<>();
+      }
+    }
+
+    // called for each non null object of the mergeList
+    @SuppressWarnings("rawtypes")
+    void prepare(Object obj, Object idValue) {
+      if (joinValues != null) {
+        populatePropertyAccessor.setValue(obj, null);
+        Object joinPropertyValue = joinPropertyAccessor.getValue(obj);
+        if (joinPropertyValue != null) {
+          joinValues.add(joinPropertyValue);
+        }
+      } else if (idValue != null) {
+        // clear collection to address edge case where collection is initialized with values
+        Collection collection = (Collection) populatePropertyAccessor.getValue(obj);
+        if (collection.size() > 0) {
+          collection.clear();
+        }
+      }
+    }
+
+    // null if there is nothing to query
+    MergeQuery<?> createMergeQuery(JdbcTemplateMapper jtm, List<T> nonNullMergeList,
+        Map<Object, Object> idToTypeModelMap, boolean parallelChunks) {
+      if (RelationshipType.HAS_ONE.equals(queryMerge.relationshipType)) {
+        return queryMerge.processHasOne(jtm, this, nonNullMergeList, parallelChunks);
+      } else if (RelationshipType.HAS_MANY.equals(queryMerge.relationshipType)) {
+        return queryMerge.processHasMany(jtm, this, idToTypeModelMap, parallelChunks);
+      } else {
+        return queryMerge.processHasManyThrough(jtm, this, idToTypeModelMap, parallelChunks);
+      }
+    }
+  }
+
+  // The related query of a merge. query() can run on any thread. merge() merges the rows into the
+  // models of the mergeList and is run on the calling thread.
+  private static class MergeQuery<R> {
+    private final Supplier<List<R>> query;
+    private final Consumer<R> rowMerger;
+    private final Runnable onMerged;
+    private List<R> rows;
+
+    MergeQuery(Supplier<List<R>> query, Consumer<R> rowMerger, Runnable onMerged) {
+      this.query = query;
+      this.rowMerger = rowMerger;
+      this.onMerged = onMerged;
+    }
+
+    void query() {
+      rows = query.get();
     }
 
-    // code reaches here query success, handle caching
-    if (!foundInCache) {
-      jtm.getQueryMergeSqlCache().put(cacheKey, partialSqlForCache);
+    void merge() {
+      rows.forEach(rowMerger);
+      onMerged.run();
     }
   }
 
@@ -90,17 +90,6 @@ class QueryValidator {
     }
   }
 
-  static void validateQueryLimitOffsetClause(String relationshipType, String limitOffsetClause) {
-    if (RelationshipType.HAS_MANY.equals(relationshipType)
-        || RelationshipType.HAS_MANY_THROUGH.equals(relationshipType)) {
-      if (MapperUtils.isNotBlank(limitOffsetClause)) {
-        throw new IllegalArgumentException(
-            "limitOffsetClause is not supported for hasMany and hasMany through relationships. "
-                + "See documentation to achieve similar functionality.");
-      }
-    }
-  }
-
   private static void validateHasOne(JdbcTemplateMapper jtm, Class<?> type, Class<?> relatedType,
       String joinColumnTypeSide, String propertyName, BeanWrapper bwTypeModel) {
 
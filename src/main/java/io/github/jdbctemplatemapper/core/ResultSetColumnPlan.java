@@ -0,0 +1,63 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.lang.ref.WeakReference;
+import java.sql.ResultSet;
+
+/**
+ * The ResultSet column index to PropertyMapping plan of a SelectMapper. Built once per ResultSet
+ * from its metadata and used for every row of the ResultSet. Immutable.
+ *
+ * @author ajoseph
+ */
+class ResultSetColumnPlan {
+  // weak reference so the plan does not hold on to a closed ResultSet
+  private final WeakReference<ResultSet> resultSetRef;
+
+  // ResultSet column indexes and their corresponding property mappings
+  private final int[] columnIndexes;
+  private final PropertyMapping[] propertyMappings;
+
+  // ResultSet column index of the id. -1 if the ResultSet does not have the id column
+  private final int idColumnIndex;
+
+  ResultSetColumnPlan(ResultSet rs, int[] columnIndexes, PropertyMapping[] propertyMappings,
+      int idColumnIndex) {
+    this.resultSetRef = new WeakReference<>(rs);
+    this.columnIndexes = columnIndexes;
+    this.propertyMappings = propertyMappings;
+    this.idColumnIndex = idColumnIndex;
+  }
+
+  public boolean isForResultSet(ResultSet rs) {
+    return resultSetRef.get() == rs;
+  }
+
+  public int getColumnCount() {
+    return columnIndexes.length;
+  }
+
+  public int getColumnIndex(int i) {
+    return columnIndexes[i];
+  }
+
+  public PropertyMapping getPropertyMapping(int i) {
+    return propertyMappings[i];
+  }
+
+  public int getIdColumnIndex() {
+    return idColumnIndex;
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Builds the models of a SelectMapper from the rows of a ResultSet. The column plan is built from
+ * the ResultSet metadata on the first row and reused for the remaining rows. Not thread safe. A new
+ * instance is used for every ResultSet so concurrently processed ResultSets do not share a plan.
+ *
+ * @author ajoseph
+ */
+class ResultSetModelBuilder {
+  private final SelectMapper<?> selectMapper;
+  private ResultSetColumnPlan columnPlan;
+
+  ResultSetModelBuilder(SelectMapper<?> selectMapper) {
+    this.selectMapper = selectMapper;
+  }
+
+  // returns null if the id of the model is null
+  Object buildModel(ResultSet rs) throws SQLException {
+    return selectMapper.buildModelInternal(rs, getColumnPlan(rs));
+  }
+
+  ResultSetColumnPlan getColumnPlan(ResultSet rs) throws SQLException {
+    if (columnPlan == null || !columnPlan.isForResultSet(rs)) {
+      columnPlan = selectMapper.buildColumnPlan(rs);
+    }
+    return columnPlan;
+  }
+
+  // a RowMapper with its own builder. Create one for every query.
+  static RowMapper<Object> rowMapper(SelectMapper<?> selectMapper) {
+    ResultSetModelBuilder builder = new ResultSetModelBuilder(selectMapper);
+    return (rs, rowNum) -> builder.buildModel(rs);
+  }
+}
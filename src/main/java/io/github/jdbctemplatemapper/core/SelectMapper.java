@@ -15,12 +15,12 @@ package io.github.jdbctemplatemapper.core;
 
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.StringJoiner;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.core.convert.ConversionService;
-import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.util.Assert;
 import io.github.jdbctemplatemapper.exception.MapperException;
 
@@ -48,6 +48,10 @@ public class SelectMapper<T> {
 
   private boolean internal;
 
+  // column plan of the last ResultSet processed by buildModel() on the thread. Internal callers use
+  // a ResultSetModelBuilder per ResultSet instead.
+  private final ThreadLocal<ResultSetColumnPlan> columnPlan = new ThreadLocal<>();
+
   SelectMapper(Class<T> clazz, String tableAlias, MappingHelper mappingHelper,
       ConversionService conversionService) {
     Assert.notNull(clazz, " clazz cannot be empty");
@@ -163,63 +167,85 @@ public class SelectMapper<T> {
    *         values)
    */
   public T buildModel(ResultSet rs) {
-    BeanWrapper bw = buildBeanWrapperModel(rs);
-    return bw == null ? null : clazz.cast(bw.getWrappedInstance());
-  }
-
-  // returns model object wrapped in BeanWrapper. Used also by Query and QueryMerge processing to
-  // prevent excessive creation of bean wrappers.
-  BeanWrapper buildBeanWrapperModel(ResultSet rs) {
-    Object obj = null;
+    ResultSetColumnPlan plan = columnPlan.get();
     try {
-      obj = clazz.getConstructor().newInstance();
-    } catch (Exception e) {
-      throw new MapperException(
-          "Failed to instantiate " + clazz.getName() + "  No default constructor found.", e);
+      if (plan == null || !plan.isForResultSet(rs)) {
+        plan = buildColumnPlan(rs);
+        columnPlan.set(plan);
+      }
+    } catch (SQLException e) {
+      throw new MapperException(e);
     }
+    Object obj = buildModelInternal(rs, plan);
+    return obj == null ? null : clazz.cast(obj);
+  }
+
+  // returns the model object. Used also by Query and QueryMerge processing through a
+  // ResultSetModelBuilder. Populates the model using the compiled property accessors of the
+  // TableMapping instead of a BeanWrapper.
+  Object buildModelInternal(ResultSet rs, ResultSetColumnPlan plan) {
+    TableMapping tableMapping = mappingHelper.getTableMapping(clazz);
+    Object obj = tableMapping.getModelAccessor().newInstance();
     try {
-      TableMapping tableMapping = mappingHelper.getTableMapping(clazz);
-      BeanWrapper bw = PropertyAccessorFactory.forBeanPropertyAccess(obj);
-      // need this when jdbcUtils cannot convert
-      bw.setConversionService(conversionService);
-
-      ResultSetMetaData rsMetaData = rs.getMetaData();
-      int count = rsMetaData.getColumnCount();
-      for (int i = 1; i <= count; i++) {
-        String columnLabel = rsMetaData.getColumnLabel(i);
-        if (columnLabel != null) {
-          columnLabel = columnLabel.toLowerCase(Locale.US);
-          if (columnLabel.startsWith(colAliasPrefix)) {
-            PropertyMapping propMapping = null;
-            if (internal) {
-              // This is an internal call from Query, QueryMerge
-              // column alias would be something like tc1 ... or rc1 ...
-              propMapping = tableMapping.getPropertyMappingByColumnAlias(columnLabel);
-            } else {
-              // This is when user is using the the jtm.getSelectMapper(type, tableAlias) to write
-              // custom queries. Column alias would be something like colAliasPrefix_tc1,
-              // colAliasPrefix_tc2 ...
-              propMapping = tableMapping.getPropertyMappingByColumnAlias(
-                  columnLabel.substring(colAliasPrefix.length()));
-            }
-            if (propMapping != null) {
-              // JdbcUtils.getResultSetValue() assigns value using the specifically typed ResultSet
-              // accessor methods (getString(), getInt() etc) for the specified propertyType.
-              bw.setPropertyValue(propMapping.getPropertyName(),
-                  JdbcUtils.getResultSetValue(rs, i, propMapping.getPropertyType()));
-            }
-          }
-        }
+      for (int i = 0; i < plan.getColumnCount(); i++) {
+        PropertyMapping propMapping = plan.getPropertyMapping(i);
+        // the column reader of the property mapping uses the specifically typed ResultSet
+        // accessor methods (getString(), getInt() etc) for the propertyType.
+        propMapping.getPropertyAccessor()
+                   .setValue(obj,
+                       propMapping.getColumnReader().read(rs, plan.getColumnIndex(i)));
       }
       // if id is null return null. Does not matter if other fields have values.
-      if (bw.getPropertyValue(tableMapping.getIdPropertyName()) == null) {
+      if (tableMapping.getIdValue(obj) == null) {
         return null;
       } else {
-        return bw;
+        return obj;
       }
 
     } catch (Exception e) {
       throw new MapperException(e);
     }
   }
+
+  // The column plan is built from the ResultSet metadata once and reused for the remaining rows of
+  // the same ResultSet.
+  ResultSetColumnPlan buildColumnPlan(ResultSet rs) throws SQLException {
+    TableMapping tableMapping = mappingHelper.getTableMapping(clazz);
+    PropertyMapping idPropMapping = tableMapping.getIdPropertyMapping();
+    ResultSetMetaData rsMetaData = rs.getMetaData();
+    int count = rsMetaData.getColumnCount();
+    List<Integer> columnIndexes = new ArrayList<>(count);
+    List<PropertyMapping> propMappings = new ArrayList<>(count);
+    int idColumnIndex = -1;
+    for (int i = 1; i <= count; i++) {
+      String columnLabel = rsMetaData.getColumnLabel(i);
+      if (columnLabel != null) {
+        columnLabel = columnLabel.toLowerCase(Locale.US);
+        if (columnLabel.startsWith(colAliasPrefix)) {
+          PropertyMapping propMapping = null;
+          if (internal) {
+            // This is an internal call from Query, QueryMerge
+            // column alias would be something like tc1 ... or rc1 ... or r2c1 ...
+            propMapping = tableMapping.getPropertyMappingByColumnAliasSuffix(
+                columnLabel.substring(colAliasPrefix.length()));
+          } else {
+            // This is when user is using the the jtm.getSelectMapper(type, tableAlias) to write
+            // custom queries. Column alias would be something like colAliasPrefix_tc1,
+            // colAliasPrefix_tc2 ...
+            propMapping = tableMapping.getPropertyMappingByColumnAlias(
+                columnLabel.substring(colAliasPrefix.length()));
+          }
+          if (propMapping != null) {
+            columnIndexes.add(i);
+            propMappings.add(propMapping);
+            if (propMapping == idPropMapping) {
+              idColumnIndex = i;
+            }
+          }
+        }
+      }
+    }
+    return new ResultSetColumnPlan(rs, columnIndexes.stream().mapToInt(Integer::intValue).toArray(),
+        propMappings.toArray(new PropertyMapping[0]), idColumnIndex);
+  }
 }
@@ -13,31 +13,98 @@
  */
 package io.github.jdbctemplatemapper.core;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import org.springframework.jdbc.core.StatementCreatorUtils;
 import org.springframework.util.ObjectUtils;
 
 /**
- * This holds the sql and the sql params needed to issue an update.
+ * This holds the sql with positional '?' parameters and the property mappings of the parameters in
+ * the order they appear in the sql. Binding is a loop over the property mappings.
  *
  * @author ajoseph
  */
 class SqlAndParams {
   private String sql; // the sql string
-  private Set<String> params; // the parameters for the sql
+  private PropertyMapping[] params; // the property mappings of the parameters in sql order
+  private Set<String> paramPropertyNames;
 
-  public SqlAndParams(String sql, Set<String> params) {
+  // index of the parameter which is assigned the incremented version. -1 if none
+  private int incrementedVersionParamIndex = -1;
+
+  public SqlAndParams(String sql, List<PropertyMapping> params) {
+    this(sql, params, -1);
+  }
+
+  public SqlAndParams(String sql, List<PropertyMapping> params, int incrementedVersionParamIndex) {
     if (ObjectUtils.isEmpty(sql) || params == null) {
       throw new IllegalArgumentException("sql and params cannot be null");
     }
     this.sql = sql;
-    this.params = params;
+    this.params = params.toArray(new PropertyMapping[params.size()]);
+    this.incrementedVersionParamIndex = incrementedVersionParamIndex;
+    this.paramPropertyNames = new HashSet<>();
+    for (PropertyMapping propMapping : params) {
+      paramPropertyNames.add(propMapping.getPropertyName());
+    }
   }
 
   public String getSql() {
     return sql;
   }
 
-  public Set<String> getParams() {
+  public PropertyMapping[] getParams() {
     return params;
   }
+
+  public boolean containsParam(String propertyName) {
+    return paramPropertyNames.contains(propertyName);
+  }
+
+  public boolean hasIncrementedVersion() {
+    return incrementedVersionParamIndex >= 0;
+  }
+
+  /**
+   * Binds the property values of the object to the statement.
+   *
+   * @param ps the PreparedStatement
+   * @param obj the object whose property values are bound
+   * @param incrementedVersion the value for the incremented version parameter. Ignored when there
+   *        is no such parameter.
+   * @throws SQLException on failure
+   */
+  public void bind(PreparedStatement ps, Object obj, Integer incrementedVersion)
+      throws SQLException {
+    bind(ps, 0, obj, incrementedVersion);
+  }
+
+  /**
+   * Binds the property values of the object to the statement starting at parameter index offset +
+   * 1. Used for statements which have the parameters of multiple objects, for example multi row
+   * inserts.
+   *
+   * @param ps the PreparedStatement
+   * @param offset the number of parameters before the parameters of the object
+   * @param obj the object whose property values are bound
+   * @param incrementedVersion the value for the incremented version parameter. Ignored when there
+   *        is no such parameter.
+   * @throws SQLException on failure
+   */
+  public void bind(PreparedStatement ps, int offset, Object obj, Integer incrementedVersion)
+      throws SQLException {
+    for (int i = 0; i < params.length; i++) {
+      PropertyMapping propMapping = params[i];
+      if (i == incrementedVersionParamIndex) {
+        StatementCreatorUtils.setParameterValue(ps, offset + i + 1, java.sql.Types.INTEGER,
+            incrementedVersion);
+      } else {
+        StatementCreatorUtils.setParameterValue(ps, offset + i + 1,
+            propMapping.getColumnSqlDataType(), propMapping.getPropertyAccessor().getValue(obj));
+      }
+    }
+  }
 }
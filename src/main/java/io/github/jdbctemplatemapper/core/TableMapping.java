@@ -45,17 +45,22 @@ class TableMapping {
   // model property to database column mapping.
   private List<PropertyMapping> propertyMappings;
 
+  // compiled constructor and property accessors of the model
+  private ModelAccessor modelAccessor;
+
   // these maps used for performance
   private Map<String, PropertyMapping> columnNameMap;
   private Map<String, PropertyMapping> propertyNameMap;
   private Map<String, PropertyMapping> columnAliasMap;
+  private Map<String, PropertyMapping> columnAliasSuffixMap;
 
   public TableMapping(Class<?> tableClass, String tableName, String schemaName, String catalogName,
       String commonDatabaseName, IdPropertyInfo idPropertyInfo,
-      List<PropertyMapping> propertyMappings) {
+      List<PropertyMapping> propertyMappings, ModelAccessor modelAccessor) {
     Assert.notNull(tableClass, "tableClass must not be null");
     Assert.notNull(tableName, "tableName must not be null");
     Assert.notNull(idPropertyInfo, "idPropertyInfo must not be null");
+    Assert.notNull(modelAccessor, "modelAccessor must not be null");
     if (MapperUtils.isEmpty(propertyMappings)) {
       throw new IllegalArgumentException("propertyMappings cannot be null or empty");
     }
@@ -68,12 +73,14 @@ class TableMapping {
     this.idPropertyName = idPropertyInfo.getPropertyName();
     this.idAutoIncrement = idPropertyInfo.isIdAutoIncrement();
     this.propertyMappings = propertyMappings;
+    this.modelAccessor = modelAccessor;
 
     // initialize the maps
     int size = propertyMappings.size();
     columnNameMap = new HashMap<>(size);
     propertyNameMap = new HashMap<>(size);
     columnAliasMap = new HashMap<>(2 * size);
+    columnAliasSuffixMap = new HashMap<>(size);
 
     int cnt = 1;
     for (PropertyMapping propMapping : propertyMappings) {
@@ -108,6 +115,13 @@ class TableMapping {
       // aliases rc1, rc2, rc3
       columnAliasMap.put((MapperUtils.RELATED_TABLE_COL_ALIAS_PREFIX + colAliasSuffix).intern(),
           propMapping);
+      // suffixes c1, c2, c3 ... for the other column alias prefixes of Query (r2c1, r3c1 ...)
+      columnAliasSuffixMap.put(colAliasSuffix, propMapping);
+
+      propMapping.setPropertyAccessor(
+          modelAccessor.getPropertyAccessor(propMapping.getPropertyName()));
+      propMapping.setColumnReader(
+          ColumnReaders.forPropertyMapping(propMapping, modelAccessor.getConversionService()));
 
       columnNameMap.put(propMapping.getColumnName(), propMapping);
       propertyNameMap.put(propMapping.getPropertyName(), propMapping);
@@ -190,6 +204,10 @@ class TableMapping {
     return columnAliasMap.get(columnAlias);
   }
 
+  public PropertyMapping getPropertyMappingByColumnAliasSuffix(String columnAliasSuffix) {
+    return columnAliasSuffixMap.get(columnAliasSuffix);
+  }
+
   public String fullyQualifiedTableName() {
     if (MapperUtils.isNotEmpty(schemaName)) {
       return schemaName + "." + tableName;
@@ -235,10 +253,22 @@ class TableMapping {
     return updatedByPropertyName != null ? propertyNameMap.get(updatedByPropertyName) : null;
   }
 
+  public String getCommonDatabaseName() {
+    return commonDatabaseName;
+  }
+
   public boolean isMySql() {
     return "mysql".equalsIgnoreCase(commonDatabaseName);
   }
 
+  public ModelAccessor getModelAccessor() {
+    return modelAccessor;
+  }
+
+  public Object getIdValue(Object obj) {
+    return getIdPropertyMapping().getPropertyAccessor().getValue(obj);
+  }
+
   public boolean hasAutoAssignProperties() {
     return autoAssignProperties;
   }
@@ -0,0 +1,27 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.graph;
+
+import java.util.List;
+import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
+
+/**
+ * The execute interface.
+ *
+ * @author ajoseph
+ * @param <T> the type
+ */
+public interface IGraphExecute<T> {
+  void execute(JdbcTemplateMapper jdbcTemplateMapper, List<T> mergeList);
+}
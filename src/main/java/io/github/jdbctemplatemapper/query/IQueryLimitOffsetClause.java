@@ -14,6 +14,8 @@
 package io.github.jdbctemplatemapper.query;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
 
 /**
@@ -23,5 +25,11 @@ import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
  * @param <T> the type
  */
 public interface IQueryLimitOffsetClause<T> {
+  IQueryFetchSize<T> fetchSize(int fetchSize);
+
   List<T> execute(JdbcTemplateMapper jdbcTemplateMapper);
+
+  Stream<T> stream(JdbcTemplateMapper jdbcTemplateMapper);
+
+  void forEach(JdbcTemplateMapper jdbcTemplateMapper, Consumer<T> consumer);
 }
@@ -14,6 +14,8 @@
 package io.github.jdbctemplatemapper.query;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
 
@@ -26,5 +28,11 @@ import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
 public interface IQueryOrderBy<T> {
   IQueryLimitOffsetClause<T> limitOffsetClause(String limitOffsetClause);
 
+  IQueryFetchSize<T> fetchSize(int fetchSize);
+
   List<T> execute(JdbcTemplateMapper jdbcTemplateMapper);
+
+  Stream<T> stream(JdbcTemplateMapper jdbcTemplateMapper);
+
+  void forEach(JdbcTemplateMapper jdbcTemplateMapper, Consumer<T> consumer);
 }
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.query;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
+
+/**
+ * interface with the next methods in the chain.
+ *
+ * @author ajoseph
+ * @param <T> the type
+ */
+public interface IQueryPageSize<T> {
+  List<T> execute(JdbcTemplateMapper jdbcTemplateMapper);
+
+  Iterator<List<T>> pages(JdbcTemplateMapper jdbcTemplateMapper);
+
+  Iterator<List<T>> pages(JdbcTemplateMapper jdbcTemplateMapper, Executor prefetchExecutor);
+}
@@ -14,6 +14,8 @@
 package io.github.jdbctemplatemapper.query;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
 
 /**
@@ -23,11 +25,31 @@ import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
  * @param <T> the type
  */
 public interface IQueryPopulateProperty<T> {
+  IQueryHasOne<T> hasOne(Class<?> relatedType);
+
+  IQueryHasOne<T> hasOne(Class<?> relatedType, String tableAlias);
+
+  IQueryHasMany<T> hasMany(Class<?> relatedType);
+
+  IQueryHasMany<T> hasMany(Class<?> relatedType, String tableAlias);
+
   IQueryWhere<T> where(String whereClause, Object... params);
 
   IQueryOrderBy<T> orderBy(String orderBy);
 
   IQueryLimitOffsetClause<T> limitOffsetClause(String limitOffsetClause);
 
+  IQuerySeekAfter<T> seekAfter(String propertyName, Object lastValue);
+
+  IQuerySeekAfter<T> seekAfter(String propertyName, Object lastValue, Object lastId);
+
+  IQueryPageSize<T> pageSize(int pageSize);
+
+  IQueryFetchSize<T> fetchSize(int fetchSize);
+
   List<T> execute(JdbcTemplateMapper jdbcTemplateMapper);
+
+  Stream<T> stream(JdbcTemplateMapper jdbcTemplateMapper);
+
+  void forEach(JdbcTemplateMapper jdbcTemplateMapper, Consumer<T> consumer);
 }
@@ -14,6 +14,8 @@
 package io.github.jdbctemplatemapper.query;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
 
@@ -28,5 +30,17 @@ public interface IQueryWhere<T> {
 
   IQueryLimitOffsetClause<T> limitOffsetClause(String limitOffsetClaue);
 
+  IQuerySeekAfter<T> seekAfter(String propertyName, Object lastValue);
+
+  IQuerySeekAfter<T> seekAfter(String propertyName, Object lastValue, Object lastId);
+
+  IQueryPageSize<T> pageSize(int pageSize);
+
+  IQueryFetchSize<T> fetchSize(int fetchSize);
+
   List<T> execute(JdbcTemplateMapper jdbcTemplateMapper);
+
+  Stream<T> stream(JdbcTemplateMapper jdbcTemplateMapper);
+
+  void forEach(JdbcTemplateMapper jdbcTemplateMapper, Consumer<T> consumer);
 }
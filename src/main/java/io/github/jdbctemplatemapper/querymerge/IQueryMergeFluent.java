@@ -22,5 +22,6 @@ package io.github.jdbctemplatemapper.querymerge;
 public interface IQueryMergeFluent<T> extends IQueryMergeType<T>, IQueryMergeHasMany<T>,
     IQueryMergeHasOne<T>, IQueryMergeJoinColumnTypeSide<T>, IQueryMergeJoinColumnManySide<T>,
     IQueryMergeThroughJoinTable<T>, IQueryMergeThroughJoinColumns<T>,
-    IQueryMergePopulateProperty<T>, IQueryMergeOrderBy<T>, IQueryMergeExecute<T> {
+    IQueryMergePopulateProperty<T>, IQueryMergeOrderBy<T>, IQueryMergeSortInMemory<T>,
+    IQueryMergeExecute<T> {
 }
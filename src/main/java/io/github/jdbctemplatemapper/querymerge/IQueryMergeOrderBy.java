@@ -22,6 +22,8 @@ import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
  * @author ajoseph
  * @param <T> the type
  */
-public interface IQueryMergeOrderBy<T> {
+public interface IQueryMergeOrderBy<T> extends IQueryMergeExecute<T> {
+  IQueryMergeSortInMemory<T> sortInMemory();
+
   void execute(JdbcTemplateMapper jdbcTemplateMapper, List<T> mergeList);
 }
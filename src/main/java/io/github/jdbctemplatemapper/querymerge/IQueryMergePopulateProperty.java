@@ -22,7 +22,7 @@ import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
  * @author ajoseph
  * @param <T> the type
  */
-public interface IQueryMergePopulateProperty<T> {
+public interface IQueryMergePopulateProperty<T> extends IQueryMergeExecute<T> {
   IQueryMergeOrderBy<T> orderBy(String orderBy);
 
   void execute(JdbcTemplateMapper jdbcTemplateMapper, List<T> mergeList);
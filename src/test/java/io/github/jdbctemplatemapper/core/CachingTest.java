@@ -8,7 +8,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import io.github.jdbctemplatemapper.model.Customer;
 import io.github.jdbctemplatemapper.model.Order;
@@ -440,9 +439,24 @@ public class CachingTest {
 
   }
 
+  @Test
+  public void jtm_rowMapperCache_test() {
+    SimpleCache<String, ModelRowMapper<?>> cache = jtm.getRowMapperCache();
+    cache.clear();
+
+    jtm.findById(Order.class, 1);
+    assertEquals(1, cache.getSize());
+
+    jtm.findAll(Order.class);
+    assertEquals(1, cache.getSize());
+
+    jtm.findAll(Customer.class);
+    assertEquals(2, cache.getSize());
+  }
+
   @Test
   public void jtm_insertCache_test() {
-    SimpleCache<String, SimpleJdbcInsert> cache = jtm.getInsertCache();
+    SimpleCache<String, SqlAndParams> cache = jtm.getInsertCache();
     cache.clear();
 
     Order order = new Order();
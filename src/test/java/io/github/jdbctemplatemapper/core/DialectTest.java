@@ -0,0 +1,209 @@
+package io.github.jdbctemplatemapper.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import io.github.jdbctemplatemapper.model.UuidRecord;
+import io.github.jdbctemplatemapper.model.UuidRecordLine;
+
+/**
+ * The built in dialects run against H2 in its compatibility modes.
+ */
+public class DialectTest {
+
+  private static final List<String> COLUMNS = Arrays.asList("id", "name", "version");
+  private static final List<String> UPDATE_COLUMNS = Arrays.asList("name", "version");
+
+  @Test
+  public void forDatabaseProductName_test() {
+    assertEquals(Dialects.POSTGRESQL, Dialects.forDatabaseProductName("PostgreSQL"));
+    assertEquals(Dialects.MYSQL, Dialects.forDatabaseProductName("MySQL"));
+    assertEquals(Dialects.MYSQL, Dialects.forDatabaseProductName("MariaDB"));
+    assertEquals(Dialects.ORACLE, Dialects.forDatabaseProductName("Oracle"));
+    assertEquals(Dialects.SQLSERVER, Dialects.forDatabaseProductName("Microsoft SQL Server"));
+    assertEquals(Dialects.H2, Dialects.forDatabaseProductName("H2"));
+    assertEquals(Dialects.HSQLDB, Dialects.forDatabaseProductName("HSQL Database Engine"));
+    assertEquals(Dialects.DEFAULT, Dialects.forDatabaseProductName("Apache Derby"));
+  }
+
+  @Test
+  public void limitOffsetClause_test() {
+    JdbcTemplate jdbcTemplate = createJdbcTemplate("dialect_limit", null);
+    for (int i = 1; i <= 5; i++) {
+      jdbcTemplate.update("INSERT INTO dialect_test (id, name, version) VALUES (?, ?, 1)", i,
+          "name" + i);
+    }
+
+    for (IDialect dialect : Arrays.asList(Dialects.H2, Dialects.POSTGRESQL, Dialects.DEFAULT)) {
+      String sql = "SELECT id FROM dialect_test ORDER BY id ";
+      List<Integer> ids = jdbcTemplate.queryForList(sql + dialect.getLimitOffsetClause(2, 1),
+          Integer.class);
+      assertEquals(Arrays.asList(2, 3), ids);
+
+      ids = jdbcTemplate.queryForList(sql + dialect.getLimitOffsetClause(2, null), Integer.class);
+      assertEquals(Arrays.asList(1, 2), ids);
+
+      ids = jdbcTemplate.queryForList(sql + dialect.getLimitOffsetClause(null, 3), Integer.class);
+      assertEquals(Arrays.asList(4, 5), ids);
+    }
+    assertEquals("LIMIT 18446744073709551615 OFFSET 3",
+        Dialects.MYSQL.getLimitOffsetClause(null, 3));
+  }
+
+  @Test
+  public void h2_upsert_test() {
+    assertVersionedUpsert(createJdbcTemplate("dialect_h2", null), Dialects.H2);
+  }
+
+  @Test
+  public void sqlServerMode_upsert_test() {
+    String sql = Dialects.SQLSERVER.getUpsertSql("dialect_test", "id", COLUMNS, UPDATE_COLUMNS,
+        "version");
+    assertTrue(sql.startsWith("MERGE INTO dialect_test WITH (HOLDLOCK) t USING "));
+    assertTrue(sql.endsWith(";"));
+
+    // H2 does not support table hints
+    assertVersionedUpsert(createJdbcTemplate("dialect_mssql", "MSSQLServer"),
+        sql.replace(" WITH (HOLDLOCK)", ""));
+  }
+
+  @Test
+  public void mysqlMode_upsert_test() {
+    JdbcTemplate jdbcTemplate = createJdbcTemplate("dialect_mysql", "MySQL");
+    // the update cannot be conditional on the version for mysql
+    assertNull(Dialects.MYSQL.getUpsertSql("dialect_test", "id", COLUMNS, UPDATE_COLUMNS,
+        "version"));
+
+    String sql = Dialects.MYSQL.getUpsertSql("dialect_test", "id", COLUMNS, UPDATE_COLUMNS, null);
+    jdbcTemplate.update(sql, 1, "aaa", 1);
+    jdbcTemplate.update(sql, 1, "bbb", 2);
+    assertEquals("bbb",
+        jdbcTemplate.queryForObject("SELECT name FROM dialect_test WHERE id = 1", String.class));
+  }
+
+  @Test
+  public void postgresql_arrayTypeName_test() {
+    assertEquals("int4", Dialects.POSTGRESQL.getArrayTypeName(Types.INTEGER));
+    assertEquals("int8", Dialects.POSTGRESQL.getArrayTypeName(Types.BIGINT));
+    assertEquals("varchar", Dialects.POSTGRESQL.getArrayTypeName(Types.VARCHAR));
+    assertEquals("numeric", Dialects.POSTGRESQL.getArrayTypeName(Types.NUMERIC));
+    assertEquals("timestamp", Dialects.POSTGRESQL.getArrayTypeName(Types.TIMESTAMP));
+    // uuid columns are reported as Types.OTHER
+    assertNull(Dialects.POSTGRESQL.getArrayTypeName(Types.OTHER));
+  }
+
+  // uuid ids cannot be bound as an array for PostgreSQL so 'IN' clauses are used instead
+  @Test
+  public void postgresqlMode_uuidIds_test() {
+    JdbcTemplate jdbcTemplate = createJdbcTemplate("dialect_uuid", "PostgreSQL");
+    jdbcTemplate.execute("DROP TABLE IF EXISTS uuid_record_line");
+    jdbcTemplate.execute("DROP TABLE IF EXISTS uuid_record");
+    jdbcTemplate.execute("CREATE TABLE uuid_record (id UUID PRIMARY KEY, name VARCHAR(100))");
+    jdbcTemplate.execute(
+        "CREATE TABLE uuid_record_line (id INTEGER PRIMARY KEY, uuid_record_id UUID)");
+    JdbcTemplateMapper jtm = new JdbcTemplateMapper(jdbcTemplate).withDialect(Dialects.POSTGRESQL);
+    assertFalse(jtm.useArrayParameter(Types.OTHER));
+
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 1; i <= 3; i++) {
+      UuidRecord record = new UuidRecord();
+      record.setId(UUID.randomUUID());
+      record.setName("name" + i);
+      jtm.insert(record);
+      ids.add(record.getId());
+
+      UuidRecordLine line = new UuidRecordLine();
+      line.setId(i);
+      line.setUuidRecordId(record.getId());
+      jtm.insert(line);
+    }
+
+    List<UuidRecord> records = jtm.findByIds(UuidRecord.class, ids);
+    assertEquals(ids, records.stream().map(UuidRecord::getId).collect(Collectors.toList()));
+
+    QueryMerge.type(UuidRecord.class)
+              .hasMany(UuidRecordLine.class)
+              .joinColumnManySide("uuid_record_id")
+              .populateProperty("lines")
+              .execute(jtm, records);
+    for (UuidRecord record : records) {
+      assertEquals(1, record.getLines().size());
+      assertEquals(record.getId(), record.getLines().get(0).getUuidRecordId());
+    }
+
+    assertEquals(2, jtm.deleteByIds(UuidRecord.class, ids.subList(0, 2)));
+    assertEquals(1, jtm.findByIds(UuidRecord.class, ids).size());
+  }
+
+  @Test
+  public void h2_arrayParameter_test() {
+    JdbcTemplate jdbcTemplate = createJdbcTemplate("dialect_array", null);
+    for (int i = 1; i <= 5; i++) {
+      jdbcTemplate.update("INSERT INTO dialect_test (id, name, version) VALUES (?, ?, 1)", i,
+          "name" + i);
+    }
+    IDialect dialect = Dialects.H2;
+    assertTrue(dialect.supportsArrayParameter());
+    List<Integer> ids = jdbcTemplate.query(
+        "SELECT id FROM dialect_test WHERE " + dialect.getArrayParameterCondition("id")
+            + " ORDER BY id",
+        ps -> ps.setArray(1, ps.getConnection()
+                               .createArrayOf(dialect.getArrayTypeName(java.sql.Types.INTEGER),
+                                   new Object[] {4, 2, 9})),
+        (rs, rowNum) -> rs.getInt(1));
+    assertEquals(Arrays.asList(2, 4), ids);
+  }
+
+  @Test
+  public void capabilities_test() {
+    assertTrue(Dialects.POSTGRESQL.supportsReturning());
+    assertTrue(Dialects.POSTGRESQL.supportsMultiRowInsert());
+    assertFalse(Dialects.ORACLE.supportsMultiRowInsert());
+    assertFalse(Dialects.SQLSERVER.supportsBatchGeneratedKeys());
+    assertFalse(Dialects.DEFAULT.supportsArrayParameter());
+    assertEquals("DROP TEMPORARY TABLE tmp", Dialects.MYSQL.getDropTempTableSql("tmp"));
+    assertNull(Dialects.DEFAULT.getUpsertSql("dialect_test", "id", COLUMNS, UPDATE_COLUMNS,
+        null));
+  }
+
+  // insert, update with matching version and update with stale version
+  private void assertVersionedUpsert(JdbcTemplate jdbcTemplate, IDialect dialect) {
+    assertVersionedUpsert(jdbcTemplate,
+        dialect.getUpsertSql("dialect_test", "id", COLUMNS, UPDATE_COLUMNS, "version"));
+  }
+
+  private void assertVersionedUpsert(JdbcTemplate jdbcTemplate, String sql) {
+    // the last parameter is the current version
+    assertEquals(1, jdbcTemplate.update(sql, 1, "aaa", 1, null));
+    assertEquals(1, jdbcTemplate.update(sql, 1, "bbb", 2, 1));
+    assertEquals(0, jdbcTemplate.update(sql, 1, "ccc", 2, 1));
+
+    Map<String, Object> row =
+        jdbcTemplate.queryForMap("SELECT name, version FROM dialect_test WHERE id = 1");
+    assertEquals("bbb", row.get("name"));
+    assertEquals(2, row.get("version"));
+  }
+
+  private JdbcTemplate createJdbcTemplate(String dbName, String mode) {
+    SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+        "jdbc:h2:mem:" + dbName + (mode == null ? "" : ";MODE=" + mode)
+            + ";DATABASE_TO_LOWER=TRUE",
+        "sa", "", true);
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("DROP TABLE IF EXISTS dialect_test");
+    jdbcTemplate.execute(
+        "CREATE TABLE dialect_test (id INTEGER PRIMARY KEY, name VARCHAR(100), version INTEGER)");
+    return jdbcTemplate;
+  }
+}
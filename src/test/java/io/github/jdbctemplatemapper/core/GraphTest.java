@@ -0,0 +1,86 @@
+package io.github.jdbctemplatemapper.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import io.github.jdbctemplatemapper.graph.IGraphExecute;
+import io.github.jdbctemplatemapper.model.Customer;
+import io.github.jdbctemplatemapper.model.Order;
+import io.github.jdbctemplatemapper.model.OrderLine;
+import io.github.jdbctemplatemapper.model.Product;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+public class GraphTest {
+
+  @Autowired
+  private JdbcTemplateMapper jtm;
+
+  @Test
+  public void graph_threeLevels_success_test() {
+    List<Order> orders = Query.type(Order.class)
+                              .orderBy("orders.order_id")
+                              .execute(jtm);
+
+    Graph.type(Order.class)
+         .hasOne(Customer.class, "customer_id", "customer")
+         .hasMany(OrderLine.class, "order_id", "orderLines")
+         .orderBy("order_line_id")
+         .then()
+         .hasOne(Product.class, "product_id", "product")
+         .execute(jtm, orders);
+
+    int orderLineCnt = 0;
+    for (Order order : orders) {
+      if (order.getCustomer() != null) {
+        assertEquals(order.getCustomerId(), order.getCustomer().getCustomerId());
+      }
+      for (OrderLine orderLine : order.getOrderLines()) {
+        orderLineCnt++;
+        assertEquals(order.getOrderId(), orderLine.getOrderId());
+        assertNotNull(orderLine.getProduct());
+        assertEquals(orderLine.getProductId(), orderLine.getProduct().getProductId());
+      }
+    }
+    assertTrue(orderLineCnt > 0);
+  }
+
+  @Test
+  public void graph_reuse_success_test() {
+    IGraphExecute<Order> graph = Graph.type(Order.class)
+                                      .hasMany(OrderLine.class, "order_id", "orderLines")
+                                      .then()
+                                      .hasOne(Product.class, "product_id", "product");
+
+    List<Order> orders = Query.type(Order.class)
+                              .where("orders.status = ?", "IN PROCESS")
+                              .execute(jtm);
+    graph.execute(jtm, orders);
+    graph.execute(jtm, orders);
+
+    int orderLineCnt = 0;
+    for (Order order : orders) {
+      for (OrderLine orderLine : order.getOrderLines()) {
+        orderLineCnt++;
+        assertNotNull(orderLine.getProduct());
+      }
+    }
+    assertEquals(3, orderLineCnt);
+  }
+
+  @Test
+  public void graph_hasOneOrderBy_failure_test() {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      Graph.type(Order.class)
+           .hasOne(Customer.class, "customer_id", "customer")
+           .orderBy("customer_id");
+    });
+  }
+}
@@ -8,6 +8,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -177,6 +178,199 @@ public class MapperTest {
     assertTrue(exception.getMessage().contains("Object must not be null"));
   }
 
+  @Test
+  public void insertAll_autoIncrementId_Test() {
+    List<Order> orders = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      Order order = new Order();
+      order.setOrderDate(LocalDateTime.now());
+      order.setCustomerId(2);
+      orders.add(order);
+    }
+
+    jtm.withBatchSize(2);
+    try {
+      jtm.insertAll(orders);
+    } finally {
+      jtm.withBatchSize(1000);
+    }
+
+    for (Order order : orders) {
+      // check if auto assigned properties have been assigned.
+      assertNotNull(order.getCreatedOn());
+      assertEquals(1, order.getVersion());
+      assertEquals("tester", order.getCreatedBy());
+
+      // ids get assigned when driver supports generated keys for batches
+      if (order.getOrderId() != null) {
+        Order order1 = jtm.findById(Order.class, order.getOrderId());
+        assertNotNull(order1);
+        assertEquals(2, order1.getCustomerId());
+        jtm.delete(order1);
+      }
+    }
+  }
+
+  @Test
+  public void insertAll_multiRowInsert_Test() {
+    List<Order> orders = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      Order order = new Order();
+      order.setOrderDate(LocalDateTime.now());
+      order.setCustomerId(i + 1);
+      orders.add(order);
+    }
+
+    // 2 rows per insert so the last insert has a single row
+    jtm.withMultiRowInsert(true).withBatchSize(2);
+    try {
+      jtm.insertAll(orders);
+    } finally {
+      jtm.withMultiRowInsert(false).withBatchSize(1000);
+    }
+
+    boolean multiRowInsertSupported = jdbcDriver.contains("postgres")
+        || jdbcDriver.contains("mysql") || jdbcDriver.contains("h2");
+    for (Order order : orders) {
+      assertEquals(1, order.getVersion());
+      if (multiRowInsertSupported) {
+        assertNotNull(order.getOrderId());
+      }
+      if (order.getOrderId() != null) {
+        // ids are assigned in order of the rows
+        Order order1 = jtm.findById(Order.class, order.getOrderId());
+        assertEquals(order.getCustomerId(), order1.getCustomerId());
+        jtm.delete(order1);
+      }
+    }
+  }
+
+  @Test
+  public void insertAll_withManualIntegerId_Test() {
+    List<Product> products = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      Product product = new Product();
+      product.setProductId(1101 + i);
+      product.setName("hat" + i);
+      product.setCost(12.25);
+      products.add(product);
+    }
+
+    jtm.insertAll(products);
+
+    for (Product product : products) {
+      assertEquals(1, product.getVersion());
+      Product product1 = jtm.findById(Product.class, product.getProductId());
+      assertEquals(product.getName(), product1.getName());
+      assertEquals("tester", product1.getCreatedBy());
+      jtm.delete(product1);
+    }
+  }
+
+  @Test
+  public void upsert_insertAndUpdate_Test() {
+    Product product = new Product();
+    product.setProductId(1201);
+    product.setName("shoe");
+    product.setCost(20.5);
+
+    jtm.upsert(product);
+    assertEquals(1, product.getVersion());
+    Product product1 = jtm.findById(Product.class, 1201);
+    assertEquals("shoe", product1.getName());
+    assertEquals(1, product1.getVersion());
+    assertEquals("tester", product1.getCreatedBy());
+    LocalDateTime createdOn = product1.getCreatedOn();
+
+    product1.setName("boot");
+    jtm.upsert(product1);
+    assertEquals(2, product1.getVersion());
+    Product product2 = jtm.findById(Product.class, 1201);
+    assertEquals("boot", product2.getName());
+    assertEquals(2, product2.getVersion());
+    // created on is only written when the record gets inserted
+    assertEquals(createdOn, product2.getCreatedOn());
+    // the object still matches its record
+    assertEquals(createdOn, product1.getCreatedOn());
+
+    jtm.delete(product2);
+  }
+
+  @Test
+  public void upsert_autoIncrementId_Test() {
+    Customer customer = new Customer();
+    customer.setFirstName("aaa");
+    customer.setLastName("bbb");
+
+    jtm.upsert(customer);
+    assertNotNull(customer.getCustomerId());
+
+    customer.setLastName("ccc");
+    jtm.upsert(customer);
+    Customer customer1 = jtm.findById(Customer.class, customer.getCustomerId());
+    assertEquals("ccc", customer1.getLastName());
+
+    jtm.delete(customer1);
+  }
+
+  @Test
+  public void upsert_staleVersionFailure_Test() {
+    Product product = new Product();
+    product.setProductId(1202);
+    product.setName("shoe");
+    product.setCost(20.5);
+    jtm.upsert(product);
+
+    product.setVersion(5);
+    Assertions.assertThrows(OptimisticLockingException.class, () -> {
+      jtm.upsert(product);
+    });
+
+    jtm.deleteById(Product.class, 1202);
+  }
+
+  @Test
+  public void upsertAll_Test() {
+    Product product = new Product();
+    product.setProductId(1203);
+    product.setName("shoe");
+    product.setCost(20.5);
+    jtm.insert(product);
+
+    Product staleProduct = jtm.findById(Product.class, 1203);
+    staleProduct.setVersion(9);
+
+    Product newProduct = new Product();
+    newProduct.setProductId(1204);
+    newProduct.setName("sock");
+    newProduct.setCost(2.0);
+
+    product.setName("boot");
+    List<Product> staleProducts = jtm.upsertAll(Arrays.asList(product, newProduct));
+    assertEquals(0, staleProducts.size());
+    assertEquals(2, product.getVersion());
+    assertEquals(1, newProduct.getVersion());
+    assertEquals("boot", jtm.findById(Product.class, 1203).getName());
+    assertEquals("sock", jtm.findById(Product.class, 1204).getName());
+
+    staleProducts = jtm.upsertAll(Arrays.asList(staleProduct));
+    assertEquals(1, staleProducts.size());
+
+    jtm.deleteByIds(Product.class, Arrays.asList(1203, 1204));
+  }
+
+  @Test
+  public void insertAll_mixedTypesFailure_Test() {
+    List<Object> objs = new ArrayList<>();
+    objs.add(new Order());
+    objs.add(new Customer());
+
+    Exception exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      jtm.insertAll(objs);
+    });
+    assertTrue(exception.getMessage().contains("should be of the same type"));
+  }
+
   @Test
   public void update_Test() throws Exception {
     Order order = jtm.findById(Order.class, 1);
@@ -254,6 +448,61 @@ public class MapperTest {
   }
 
 
+  @Test
+  public void updateAll_withStaleObject_Test() {
+    List<Order> orders = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      Order order = new Order();
+      order.setOrderDate(LocalDateTime.now());
+      order.setCustomerId(2);
+      jtm.insert(order);
+      order.setStatus("COMPLETE");
+      orders.add(order);
+    }
+    Order staleOrder = orders.get(1);
+    staleOrder.setVersion(staleOrder.getVersion() - 1);
+
+    List<Order> staleOrders = jtm.updateAll(orders);
+
+    assertEquals(1, staleOrders.size());
+    assertTrue(staleOrder == staleOrders.get(0));
+    assertEquals(0, staleOrder.getVersion());
+    assertEquals(2, orders.get(0).getVersion());
+    assertEquals(2, orders.get(2).getVersion());
+
+    assertEquals("COMPLETE", jtm.findById(Order.class, orders.get(0).getOrderId()).getStatus());
+    assertNull(jtm.findById(Order.class, staleOrder.getOrderId()).getStatus());
+
+    for (Order order : orders) {
+      jtm.delete(order);
+    }
+  }
+
+  @Test
+  public void updatePropertiesAll_Test() {
+    List<Order> orders = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      Order order = new Order();
+      order.setOrderDate(LocalDateTime.now());
+      order.setCustomerId(2);
+      jtm.insert(order);
+      order.setStatus("COMPLETE");
+      order.setCustomerId(3);
+      orders.add(order);
+    }
+
+    List<Order> staleOrders = jtm.updatePropertiesAll(orders, "status");
+
+    assertEquals(0, staleOrders.size());
+    for (Order order : orders) {
+      assertEquals(2, order.getVersion());
+      Order order1 = jtm.findById(Order.class, order.getOrderId());
+      assertEquals("COMPLETE", order1.getStatus());
+      assertEquals(2, order1.getCustomerId()); // not updated
+      jtm.delete(order1);
+    }
+  }
+
   @Test
   public void update_withNullVersion_Test() {
     Exception exception = Assertions.assertThrows(MapperException.class, () -> {
@@ -470,6 +719,45 @@ public class MapperTest {
     assertNull(product1);
   }
 
+  @Test
+  public void findByIds_Test() {
+    // Order id is Long. Integer ids get converted.
+    List<Order> orders = jtm.findByIds(Order.class, Arrays.asList(3, 1, 999999, 2, 1));
+
+    assertEquals(3, orders.size());
+    assertEquals(3L, orders.get(0).getOrderId());
+    assertEquals(1L, orders.get(1).getOrderId());
+    assertEquals(2L, orders.get(2).getOrderId());
+  }
+
+  @Test
+  public void findByIdsAsMap_Test() {
+    Map<Object, Order> orderMap = jtm.findByIdsAsMap(Order.class, Arrays.asList(2L, 1L));
+
+    assertEquals(2, orderMap.size());
+    assertEquals(1L, orderMap.get(1L).getOrderId());
+    assertEquals(2L, orderMap.get(2L).getOrderId());
+    assertEquals(2L, orderMap.keySet().iterator().next());
+  }
+
+  @Test
+  public void deleteByIds_Test() {
+    List<Customer> customers = new ArrayList<>();
+    List<Integer> ids = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      Customer customer = new Customer();
+      customer.setFirstName("aaa");
+      customer.setLastName("bbb" + i);
+      jtm.insert(customer);
+      customers.add(customer);
+      ids.add(customer.getCustomerId());
+    }
+
+    int cnt = jtm.deleteByIds(Customer.class, ids);
+    assertEquals(3, cnt);
+    assertEquals(0, jtm.findByIds(Customer.class, ids).size());
+  }
+
   @Test
   public void deleteById_nullIdFailure_Test() {
     Exception exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
@@ -41,6 +41,35 @@ public class MapperUtilsTest {
     assertEquals(10, chunkedList.get(0).size());
   }
 
+  @Test
+  public void padToBucketSize_test() {
+    List<?> padded = MapperUtils.padToBucketSize(Arrays.asList(new Integer[] {5}), 100);
+    assertEquals(1, padded.size());
+
+    padded = MapperUtils.padToBucketSize(Arrays.asList(new Integer[] {5, 6}), 100);
+    assertEquals(4, padded.size());
+    assertEquals(6, padded.get(3));
+
+    padded = MapperUtils.padToBucketSize(Arrays.asList(new Integer[20]), 100);
+    assertEquals(64, padded.size());
+
+    // capped at the max size
+    padded = MapperUtils.padToBucketSize(Arrays.asList(new Integer[70]), 100);
+    assertEquals(100, padded.size());
+
+    padded = MapperUtils.padToBucketSize(Arrays.asList(new Integer[300]), Integer.MAX_VALUE);
+    assertEquals(512, padded.size());
+  }
+
+  @Test
+  public void chunkAndPad_test() {
+    Integer[] arr = new Integer[] {7, 3, 9, 1, 5, 2};
+    List<List<?>> chunkedList = MapperUtils.chunkAndPad(Arrays.asList(arr), 5);
+    assertEquals(2, chunkedList.size());
+    assertEquals(Arrays.asList(new Integer[] {1, 2, 3, 5, 7}), chunkedList.get(0));
+    assertEquals(Arrays.asList(new Integer[] {9}), chunkedList.get(1));
+  }
+
   @Test
   public void tableNameOnly_test() {
     String tableName = null;
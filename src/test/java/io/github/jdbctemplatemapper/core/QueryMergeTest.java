@@ -7,13 +7,18 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionTemplate;
 import io.github.jdbctemplatemapper.exception.QueryException;
 import io.github.jdbctemplatemapper.model.Customer;
 import io.github.jdbctemplatemapper.model.Customer2;
@@ -426,4 +431,337 @@ public class QueryMergeTest {
 
 
   }
+
+  @Test
+  public void inClauseChunks_success_test() {
+    List<Order> orders = Query.type(Order.class)
+                              .orderBy("orders.order_id")
+                              .execute(jtm);
+
+    // no array parameter support so the values are chunked into 'IN' queries of size 1
+    JdbcTemplateMapper chunkJtm = chunkJdbcTemplateMapper();
+    QueryMerge.type(Order.class)
+              .hasOne(Customer.class)
+              .joinColumnTypeSide("customer_id")
+              .populateProperty("customer")
+              .execute(chunkJtm, orders);
+
+    QueryMerge.type(Order.class)
+              .hasMany(OrderLine.class)
+              .joinColumnManySide("order_id")
+              .populateProperty("orderLines")
+              .orderBy("order_line_id")
+              .execute(chunkJtm, orders);
+
+    int cnt = 0;
+    for (Order order : orders) {
+      if (order.getCustomer() != null) {
+        assertEquals(order.getCustomerId(), order.getCustomer().getCustomerId());
+      }
+      for (OrderLine orderLine : order.getOrderLines()) {
+        assertEquals(order.getOrderId(), orderLine.getOrderId());
+      }
+      cnt += order.getOrderLines().size();
+    }
+
+    List<Order> arrayOrders = Query.type(Order.class)
+                                   .hasMany(OrderLine.class)
+                                   .joinColumnManySide("order_id")
+                                   .populateProperty("orderLines")
+                                   .orderBy("orders.order_id, order_line.order_line_id")
+                                   .execute(jtm);
+    int arrayCnt = 0;
+    for (Order order : arrayOrders) {
+      arrayCnt += order.getOrderLines().size();
+    }
+    assertEquals(arrayCnt, cnt);
+  }
+
+  @Test
+  public void parallelChunks_success_test() {
+    List<Order> orders = Query.type(Order.class)
+                              .orderBy("orders.order_id")
+                              .execute(jtm);
+    List<Order> parallelOrders = Query.type(Order.class)
+                                      .orderBy("orders.order_id")
+                                      .execute(jtm);
+
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      QueryMerge.type(Order.class)
+                .hasMany(OrderLine.class)
+                .joinColumnManySide("order_id")
+                .populateProperty("orderLines")
+                .orderBy("order_line_id DESC")
+                .execute(chunkJdbcTemplateMapper(), orders);
+
+      QueryMerge.type(Order.class)
+                .hasMany(OrderLine.class)
+                .joinColumnManySide("order_id")
+                .populateProperty("orderLines")
+                .orderBy("order_line_id DESC")
+                .execute(chunkJdbcTemplateMapper().withQueryMergeExecutor(executor, 2),
+                    parallelOrders);
+    } finally {
+      executor.shutdown();
+    }
+
+    assertEquals(orders.size(), parallelOrders.size());
+    for (int i = 0; i < orders.size(); i++) {
+      List<Integer> orderLineIds = orders.get(i)
+                                         .getOrderLines()
+                                         .stream()
+                                         .map(OrderLine::getOrderLineId)
+                                         .collect(Collectors.toList());
+      List<Integer> parallelOrderLineIds = parallelOrders.get(i)
+                                                         .getOrderLines()
+                                                         .stream()
+                                                         .map(OrderLine::getOrderLineId)
+                                                         .collect(Collectors.toList());
+      assertEquals(orderLineIds, parallelOrderLineIds);
+    }
+  }
+
+  @Test
+  public void tempTable_success_test() {
+    List<Order> orders = Query.type(Order.class)
+                              .orderBy("orders.order_id")
+                              .execute(jtm);
+    List<Order> tempTableOrders = Query.type(Order.class)
+                                       .orderBy("orders.order_id")
+                                       .execute(jtm);
+
+    QueryMerge.type(Order.class)
+              .hasMany(OrderLine.class)
+              .joinColumnManySide("order_id")
+              .populateProperty("orderLines")
+              .orderBy("order_line_id")
+              .execute(jtm, orders);
+
+    // no array parameter support so the values are joined using a temporary table
+    JdbcTemplateMapper tempTableJtm = tempTableJdbcTemplateMapper();
+    QueryMerge.type(Order.class)
+              .hasMany(OrderLine.class)
+              .joinColumnManySide("order_id")
+              .populateProperty("orderLines")
+              .orderBy("order_line_id")
+              .execute(tempTableJtm, tempTableOrders);
+
+    // the temporary table is dropped (or emptied) after use so it can be used again
+    QueryMerge.type(Order.class)
+              .hasOne(Customer.class)
+              .joinColumnTypeSide("customer_id")
+              .populateProperty("customer")
+              .execute(tempTableJtm, tempTableOrders);
+
+    for (int i = 0; i < orders.size(); i++) {
+      assertEquals(orders.get(i).getOrderLines().size(),
+          tempTableOrders.get(i).getOrderLines().size());
+      Customer customer = tempTableOrders.get(i).getCustomer();
+      if (customer != null) {
+        assertEquals(tempTableOrders.get(i).getCustomerId(), customer.getCustomerId());
+      }
+    }
+  }
+
+  @Test
+  public void tempTable_transactionRollback_test() {
+    JdbcTemplateMapper tempTableJtm = tempTableJdbcTemplateMapper();
+    Customer customer = jtm.findAll(Customer.class).get(0);
+    String lastName = customer.getLastName();
+    String customerTable =
+        tempTableJtm.getTableMapping(Customer.class).fullyQualifiedTableName();
+    List<Order> orders = Query.type(Order.class)
+                              .orderBy("orders.order_id")
+                              .execute(jtm);
+
+    TransactionTemplate transactionTemplate = new TransactionTemplate(
+        new DataSourceTransactionManager(jtm.getJdbcTemplate().getDataSource()));
+    transactionTemplate.executeWithoutResult(status -> {
+      tempTableJtm.getJdbcTemplate()
+                  .update("UPDATE " + customerTable + " SET last_name = ? WHERE customer_id = ?",
+                      "rolledBack", customer.getCustomerId());
+      // creating and dropping the temporary table should not commit the transaction
+      QueryMerge.type(Order.class)
+                .hasMany(OrderLine.class)
+                .joinColumnManySide("order_id")
+                .populateProperty("orderLines")
+                .execute(tempTableJtm, orders);
+      status.setRollbackOnly();
+    });
+
+    assertTrue(orders.stream().anyMatch(order -> order.getOrderLines().size() > 0));
+    assertEquals(lastName,
+        jtm.findById(Customer.class, customer.getCustomerId()).getLastName());
+  }
+
+  @Test
+  public void executeAll_success_test() {
+    List<Order> orders = Query.type(Order.class)
+                              .orderBy("orders.order_id")
+                              .execute(jtm);
+    List<Order> parallelOrders = Query.type(Order.class)
+                                      .orderBy("orders.order_id")
+                                      .execute(jtm);
+
+    QueryMerge.executeAll(jtm, orders,
+        QueryMerge.type(Order.class)
+                  .hasOne(Customer.class)
+                  .joinColumnTypeSide("customer_id")
+                  .populateProperty("customer"),
+        QueryMerge.type(Order.class)
+                  .hasMany(OrderLine.class)
+                  .joinColumnManySide("order_id")
+                  .populateProperty("orderLines")
+                  .orderBy("order_line_id"));
+
+    // the merges run concurrently
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    jtm.withQueryMergeExecutor(executor, 2);
+    try {
+      QueryMerge.executeAll(jtm, parallelOrders,
+          QueryMerge.type(Order.class)
+                    .hasOne(Customer.class)
+                    .joinColumnTypeSide("customer_id")
+                    .populateProperty("customer"),
+          QueryMerge.type(Order.class)
+                    .hasMany(OrderLine.class)
+                    .joinColumnManySide("order_id")
+                    .populateProperty("orderLines")
+                    .orderBy("order_line_id"));
+    } finally {
+      jtm.withQueryMergeExecutor(null, 1);
+      executor.shutdown();
+    }
+
+    int cnt = 0;
+    for (int i = 0; i < orders.size(); i++) {
+      Order order = orders.get(i);
+      Order parallelOrder = parallelOrders.get(i);
+      if (order.getCustomer() != null) {
+        assertEquals(order.getCustomerId(), order.getCustomer().getCustomerId());
+        assertEquals(order.getCustomerId(), parallelOrder.getCustomer().getCustomerId());
+      }
+      assertEquals(order.getOrderLines().size(), parallelOrder.getOrderLines().size());
+      cnt += order.getOrderLines().size();
+    }
+    assertTrue(cnt > 0);
+  }
+
+  @Test
+  public void executeAll_samePropertyFailure_test() {
+    List<Order> orders = new ArrayList<>();
+    Exception exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      QueryMerge.executeAll(jtm, orders,
+          QueryMerge.type(Order.class)
+                    .hasMany(OrderLine.class)
+                    .joinColumnManySide("order_id")
+                    .populateProperty("orderLines"),
+          QueryMerge.type(Order.class)
+                    .hasMany(OrderLine.class)
+                    .joinColumnManySide("order_id")
+                    .populateProperty("orderLines"));
+    });
+    assertTrue(exception.getMessage().contains("cannot populate the same property"));
+  }
+
+  @Test
+  public void sortInMemory_success_test() {
+    List<Order> orders = Query.type(Order.class)
+                              .orderBy("orders.order_id")
+                              .execute(jtm);
+
+    QueryMerge.type(Order.class)
+              .hasMany(OrderLine.class)
+              .joinColumnManySide("order_id")
+              .populateProperty("orderLines")
+              .orderBy("order_line.num_of_units DESC, order_line_id")
+              .sortInMemory()
+              .execute(jtm, orders);
+
+    boolean multipleOrderLines = false;
+    for (Order order : orders) {
+      List<OrderLine> orderLines = order.getOrderLines();
+      for (int i = 1; i < orderLines.size(); i++) {
+        multipleOrderLines = true;
+        OrderLine prev = orderLines.get(i - 1);
+        OrderLine curr = orderLines.get(i);
+        assertTrue(prev.getNumOfUnits() > curr.getNumOfUnits()
+            || (prev.getNumOfUnits() == curr.getNumOfUnits()
+                && prev.getOrderLineId() < curr.getOrderLineId()));
+      }
+    }
+    assertTrue(multipleOrderLines);
+  }
+
+  @Test
+  public void sortInMemory_invalidOrderBy_failure_test() {
+    List<Order> orders = Query.type(Order.class)
+                              .orderBy("orders.order_id")
+                              .execute(jtm);
+
+    Exception exception = Assertions.assertThrows(QueryException.class, () -> {
+      QueryMerge.type(Order.class)
+                .hasMany(OrderLine.class)
+                .joinColumnManySide("order_id")
+                .populateProperty("orderLines")
+                .orderBy("lower(status)")
+                .sortInMemory()
+                .execute(jtm, orders);
+    });
+    assertTrue(exception.getMessage().contains("sortInMemory()"));
+  }
+
+  @Test
+  public void queryMergeMaxParallelism_invalid_test() {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      jtm.withQueryMergeExecutor(null, 0);
+    });
+  }
+
+  @Test
+  public void inClauseChunkSize_invalid_test() {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      jtm.withInClauseChunkSize(0);
+    });
+  }
+
+  // A JdbcTemplateMapper of its own (the shared one is not reconfigured) without array parameter
+  // support which queries the QueryMerge values in 'IN' chunks of size 1.
+  private JdbcTemplateMapper chunkJdbcTemplateMapper() {
+    return newJdbcTemplateMapper().withDialect(Dialects.DEFAULT).withInClauseChunkSize(1);
+  }
+
+  // A JdbcTemplateMapper of its own (the shared one is not reconfigured) which joins the QueryMerge
+  // values using a temporary table.
+  private JdbcTemplateMapper tempTableJdbcTemplateMapper() {
+    IDialect dialect = jtm.getDialect();
+    return newJdbcTemplateMapper().withDialect(new IDialect() {
+      @Override
+      public String getLimitOffsetClause(Integer limit, Integer offset) {
+        return dialect.getLimitOffsetClause(limit, offset);
+      }
+
+      @Override
+      public String getTempTableName(String name) {
+        return dialect.getTempTableName(name);
+      }
+
+      @Override
+      public String getCreateTempTableSql(String tableName, String columnName, int sqlType) {
+        return dialect.getCreateTempTableSql(tableName, columnName, sqlType);
+      }
+
+      @Override
+      public String getDropTempTableSql(String tableName) {
+        return dialect.getDropTempTableSql(tableName);
+      }
+    }).withQueryMergeTempTableThreshold(1);
+  }
+
+  private JdbcTemplateMapper newJdbcTemplateMapper() {
+    return jdbcDriver.contains("mysql")
+        ? new JdbcTemplateMapper(jtm.getJdbcTemplate(), null, "schema1")
+        : new JdbcTemplateMapper(jtm.getJdbcTemplate(), "schema1");
+  }
 }
@@ -4,7 +4,14 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -28,6 +35,7 @@ import io.github.jdbctemplatemapper.model.Order9;
 import io.github.jdbctemplatemapper.model.OrderLine;
 import io.github.jdbctemplatemapper.model.OrderLine7;
 import io.github.jdbctemplatemapper.model.PersonView;
+import io.github.jdbctemplatemapper.model.Product;
 
 @SpringBootTest
 @ExtendWith(SpringExtension.class)
@@ -462,6 +470,448 @@ public class QueryTest {
 
   }
 
+  @Test
+  public void stream_typeOnly_success_test() {
+    List<Order> orders = Query.type(Order.class).orderBy("orders.order_id").execute(jtm);
+
+    List<Order> streamedOrders = null;
+    try (Stream<Order> stream =
+        Query.type(Order.class).orderBy("orders.order_id").fetchSize(2).stream(jtm)) {
+      streamedOrders = stream.collect(Collectors.toList());
+    }
+
+    assertEquals(orders.size(), streamedOrders.size());
+    for (int i = 0; i < orders.size(); i++) {
+      assertEquals(orders.get(i).getOrderId(), streamedOrders.get(i).getOrderId());
+      assertEquals(orders.get(i).getStatus(), streamedOrders.get(i).getStatus());
+    }
+  }
+
+  @Test
+  public void stream_hasOne_success_test() {
+    List<Order> orders = new ArrayList<>();
+    try (Stream<Order> stream = Query.type(Order.class)
+                                     .hasOne(Customer.class)
+                                     .joinColumnTypeSide("customer_id")
+                                     .populateProperty("customer")
+                                     .where("orders.status = ?", "IN PROCESS")
+                                     .orderBy("orders.order_id")
+                                     .stream(jtm)) {
+      stream.forEach(orders::add);
+    }
+
+    assertEquals(2, orders.size());
+    assertEquals("tony", orders.get(0).getCustomer().getFirstName());
+    assertEquals("jane", orders.get(1).getCustomer().getFirstName());
+  }
+
+  @Test
+  public void forEach_withMapSqlParameterSource_success_test() {
+    List<Order> orders = new ArrayList<>();
+    Query.type(Order.class)
+         .where("orders.status = :status",
+             new MapSqlParameterSource().addValue("status", "IN PROCESS"))
+         .fetchSize(1)
+         .forEach(jtm, orders::add);
+
+    assertEquals(2, orders.size());
+  }
+
+  @Test
+  public void where_inClauseCollection_success_test() {
+    List<Integer> ids = Arrays.asList(3, 1, 2);
+    MapSqlParameterSource params = new MapSqlParameterSource().addValue("ids", ids);
+    List<Order> orders = Query.type(Order.class)
+                              .where("orders.order_id IN (:ids)", params)
+                              .orderBy("orders.order_id")
+                              .execute(jtm);
+
+    assertEquals(3, orders.size());
+    assertEquals(1L, orders.get(0).getOrderId());
+    assertEquals(3L, orders.get(2).getOrderId());
+    // the parameter source of the caller is not modified
+    assertEquals(ids, params.getValue("ids"));
+  }
+
+  @Test
+  public void multipleHasOne_success_test() {
+    List<OrderLine> orderLines = Query.type(OrderLine.class)
+                                      .hasOne(Order.class)
+                                      .joinColumnTypeSide("order_id")
+                                      .populateProperty("order")
+                                      .hasOne(Product.class, "p")
+                                      .joinColumnTypeSide("product_id")
+                                      .populateProperty("product")
+                                      .orderBy("order_line.order_line_id")
+                                      .execute(jtm);
+
+    assertTrue(orderLines.size() > 0);
+    for (OrderLine orderLine : orderLines) {
+      assertEquals(orderLine.getOrderId(), orderLine.getOrder().getOrderId());
+      assertEquals(orderLine.getProductId(), orderLine.getProduct().getProductId());
+      assertNotNull(orderLine.getProduct().getName());
+    }
+
+    List<OrderLine> streamedOrderLines = null;
+    try (Stream<OrderLine> stream = Query.type(OrderLine.class)
+                                         .hasOne(Order.class)
+                                         .joinColumnTypeSide("order_id")
+                                         .populateProperty("order")
+                                         .hasOne(Product.class, "p")
+                                         .joinColumnTypeSide("product_id")
+                                         .populateProperty("product")
+                                         .orderBy("order_line.order_line_id")
+                                         .stream(jtm)) {
+      streamedOrderLines = stream.collect(Collectors.toList());
+    }
+    assertEquals(orderLines.size(), streamedOrderLines.size());
+    assertEquals(orderLines.get(0).getProduct().getName(),
+        streamedOrderLines.get(0).getProduct().getName());
+  }
+
+  @Test
+  public void hasMany_withHasOne_success_test() {
+    List<Order> orders = Query.type(Order.class)
+                              .hasMany(OrderLine.class)
+                              .joinColumnManySide("order_id")
+                              .populateProperty("orderLines")
+                              .hasOne(Customer.class)
+                              .joinColumnTypeSide("customer_id")
+                              .populateProperty("customer")
+                              .orderBy("orders.order_id, order_line.order_line_id")
+                              .execute(jtm);
+
+    assertTrue(orders.size() > 0);
+    for (Order order : orders) {
+      if (order.getCustomer() != null) {
+        assertEquals(order.getCustomerId(), order.getCustomer().getCustomerId());
+      }
+    }
+    assertTrue(orders.get(0).getOrderLines().size() > 0);
+  }
+
+  @Test
+  public void hasOne_withHasManyMerge_success_test() {
+    List<Order> joinedOrders = Query.type(Order.class)
+                                    .hasMany(OrderLine.class)
+                                    .joinColumnManySide("order_id")
+                                    .populateProperty("orderLines")
+                                    .orderBy("orders.order_id")
+                                    .execute(jtm);
+
+    // the orderLines are loaded with a QueryMerge since hasOne customer is joined in the sql
+    List<Order> orders = Query.type(Order.class)
+                              .hasOne(Customer.class)
+                              .joinColumnTypeSide("customer_id")
+                              .populateProperty("customer")
+                              .hasMany(OrderLine.class)
+                              .joinColumnManySide("order_id")
+                              .populateProperty("orderLines")
+                              .orderBy("orders.order_id")
+                              .execute(jtm);
+
+    assertEquals(joinedOrders.size(), orders.size());
+    for (int i = 0; i < orders.size(); i++) {
+      assertEquals(joinedOrders.get(i).getOrderId(), orders.get(i).getOrderId());
+      assertEquals(joinedOrders.get(i).getOrderLines().size(),
+          orders.get(i).getOrderLines().size());
+    }
+
+    Exception exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      Query.type(Order.class)
+           .hasOne(Customer.class)
+           .joinColumnTypeSide("customer_id")
+           .populateProperty("customer")
+           .hasMany(OrderLine.class)
+           .joinColumnManySide("order_id")
+           .populateProperty("orderLines")
+           .stream(jtm);
+    });
+    assertTrue(exception.getMessage().contains("more than one hasMany"));
+  }
+
+  @Test
+  public void multipleHasMany_sameProperty_failure_test() {
+    Exception exception = Assertions.assertThrows(QueryException.class, () -> {
+      Query.type(Order.class)
+           .hasMany(OrderLine.class)
+           .joinColumnManySide("order_id")
+           .populateProperty("orderLines")
+           .hasMany(OrderLine.class)
+           .joinColumnManySide("order_id")
+           .populateProperty("orderLines")
+           .execute(jtm);
+    });
+    assertTrue(exception.getMessage().contains("more than one relationship"));
+  }
+
+  @Test
+  public void multipleHasOne_sameTable_failure_test() {
+    Exception exception = Assertions.assertThrows(QueryException.class, () -> {
+      Query.type(OrderLine.class)
+           .hasOne(Product.class)
+           .joinColumnTypeSide("product_id")
+           .populateProperty("product")
+           .hasOne(Order.class)
+           .joinColumnTypeSide("order_id")
+           .populateProperty("product")
+           .execute(jtm);
+    });
+    assertTrue(exception.getMessage().contains("more than one relationship"));
+
+    exception = Assertions.assertThrows(QueryException.class, () -> {
+      Query.type(OrderLine.class)
+           .hasOne(Product.class)
+           .joinColumnTypeSide("product_id")
+           .populateProperty("product")
+           .hasOne(Product.class)
+           .joinColumnTypeSide("product_id")
+           .populateProperty("order")
+           .execute(jtm);
+    });
+    assertTrue(exception.getMessage().contains("is already used in the query"));
+  }
+
+  @Test
+  public void stream_hasMany_success_test() {
+    List<Order> orders = Query.type(Order.class)
+                              .hasMany(OrderLine.class)
+                              .joinColumnManySide("order_id")
+                              .populateProperty("orderLines")
+                              .orderBy("orders.order_id, order_line.order_line_id")
+                              .execute(jtm);
+
+    List<Order> streamedOrders = new ArrayList<>();
+    Query.type(Order.class)
+         .hasMany(OrderLine.class)
+         .joinColumnManySide("order_id")
+         .populateProperty("orderLines")
+         .orderBy("orders.order_id, order_line.order_line_id")
+         .fetchSize(2)
+         .forEach(jtm, streamedOrders::add);
+
+    assertEquals(orders.size(), streamedOrders.size());
+    for (int i = 0; i < orders.size(); i++) {
+      Order order = orders.get(i);
+      Order streamedOrder = streamedOrders.get(i);
+      assertEquals(order.getOrderId(), streamedOrder.getOrderId());
+      assertEquals(order.getOrderLines().size(), streamedOrder.getOrderLines().size());
+      for (int j = 0; j < order.getOrderLines().size(); j++) {
+        assertEquals(order.getOrderLines().get(j).getOrderLineId(),
+            streamedOrder.getOrderLines().get(j).getOrderLineId());
+      }
+    }
+  }
+
+  @Test
+  public void stream_hasMany_noOrderBy_success_test() {
+    List<Order> orders = new ArrayList<>();
+    try (Stream<Order> stream = Query.type(Order.class, "o")
+                                     .hasMany(OrderLine.class, "ol")
+                                     .joinColumnManySide("order_id")
+                                     .populateProperty("orderLines")
+                                     .where("o.status = ?", "IN PROCESS")
+                                     .stream(jtm)) {
+      stream.forEach(orders::add);
+    }
+
+    // ordered by the order id when there is no orderBy
+    assertEquals(2, orders.size());
+    assertTrue(orders.get(0).getOrderId() < orders.get(1).getOrderId());
+    assertEquals(2, orders.get(0).getOrderLines().size());
+    assertEquals(1, orders.get(1).getOrderLines().size());
+  }
+
+  @Test
+  public void stream_hasMany_orderByWithoutId_failure_test() {
+    Exception exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      Query.type(Order.class)
+           .hasMany(OrderLine.class)
+           .joinColumnManySide("order_id")
+           .populateProperty("orderLines")
+           .orderBy("orders.status")
+           .stream(jtm);
+    });
+    assertTrue(exception.getMessage().contains("the orderBy should include the column"));
+  }
+
+  @Test
+  public void stream_hasMany_relatedColumnBeforeId_failure_test() {
+    Exception exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      Query.type(Order.class)
+           .hasMany(OrderLine.class)
+           .joinColumnManySide("order_id")
+           .populateProperty("orderLines")
+           .orderBy("order_line.num_of_units, orders.order_id")
+           .stream(jtm);
+    });
+    assertTrue(exception.getMessage().contains(
+        "cannot have the column order_line.num_of_units of the related table before the column"));
+  }
+
+  @Test
+  public void pages_byId_success_test() {
+    List<Order> orders = Query.type(Order.class).orderBy("orders.order_id").execute(jtm);
+
+    List<Order> pagedOrders = new ArrayList<>();
+    Iterator<List<Order>> pages = Query.type(Order.class).pageSize(2).pages(jtm);
+    while (pages.hasNext()) {
+      List<Order> page = pages.next();
+      assertTrue(page.size() <= 2);
+      pagedOrders.addAll(page);
+    }
+
+    assertEquals(orders.size(), pagedOrders.size());
+    for (int i = 0; i < orders.size(); i++) {
+      assertEquals(orders.get(i).getOrderId(), pagedOrders.get(i).getOrderId());
+    }
+  }
+
+  @Test
+  public void pages_seekAfterNonUniqueProperty_prefetch_success_test() {
+    List<Order> orders = Query.type(Order.class, "o")
+                              .hasOne(Customer.class, "c")
+                              .joinColumnTypeSide("customer_id")
+                              .populateProperty("customer")
+                              .where("o.order_id > ? AND o.status IS NOT NULL", 0)
+                              .orderBy("o.status, o.order_id")
+                              .execute(jtm);
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    List<Order> pagedOrders = new ArrayList<>();
+    try {
+      Iterator<List<Order>> pages = Query.type(Order.class, "o")
+                                         .hasOne(Customer.class, "c")
+                                         .joinColumnTypeSide("customer_id")
+                                         .populateProperty("customer")
+                                         .where("o.order_id > ? AND o.status IS NOT NULL", 0)
+                                         .seekAfter("status", null)
+                                         .pageSize(1)
+                                         .pages(jtm, executor);
+      pages.forEachRemaining(pagedOrders::addAll);
+    } finally {
+      executor.shutdown();
+    }
+
+    assertEquals(orders.size(), pagedOrders.size());
+    for (int i = 0; i < orders.size(); i++) {
+      assertEquals(orders.get(i).getOrderId(), pagedOrders.get(i).getOrderId());
+      assertEquals(orders.get(i).getCustomer().getCustomerId(),
+          pagedOrders.get(i).getCustomer().getCustomerId());
+    }
+  }
+
+  @Test
+  public void seekAfter_nonUniquePropertyWithId_success_test() {
+    List<Order> orders = Query.type(Order.class)
+                              .where("orders.status IS NOT NULL AND orders.order_id > ?", 0)
+                              .orderBy("orders.status, orders.order_id")
+                              .execute(jtm);
+    assertTrue(orders.size() > 1);
+
+    // the single page after the first record of the ordered list
+    Order first = orders.get(0);
+    List<Order> page = Query.type(Order.class)
+                            .where("orders.status IS NOT NULL AND orders.order_id > ?", 0)
+                            .seekAfter("status", first.getStatus(), first.getOrderId())
+                            .pageSize(1)
+                            .execute(jtm);
+    assertEquals(1, page.size());
+    assertEquals(orders.get(1).getOrderId(), page.get(0).getOrderId());
+
+    Exception exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      Query.type(Order.class).seekAfter("status", first.getStatus()).pageSize(1).execute(jtm);
+    });
+    assertTrue(exception.getMessage().contains("needs the id of the last record"));
+  }
+
+  @Test
+  public void pages_seekAfterNullValues_success_test() {
+    Order order = new Order();
+    order.setOrderDate(LocalDateTime.now());
+    order.setCustomerId(2);
+    jtm.insert(order); // status is null
+    try {
+      List<Order> orders = Query.type(Order.class)
+                                .where("orders.status IS NOT NULL AND orders.order_id > ?", 0)
+                                .orderBy("orders.status, orders.order_id")
+                                .execute(jtm);
+
+      // records with a null status are excluded instead of restarting the pages
+      List<Order> pagedOrders = new ArrayList<>();
+      Query.type(Order.class)
+           .seekAfter("status", null)
+           .pageSize(2)
+           .pages(jtm)
+           .forEachRemaining(pagedOrders::addAll);
+
+      assertEquals(orders.size(), pagedOrders.size());
+      for (int i = 0; i < orders.size(); i++) {
+        assertEquals(orders.get(i).getOrderId(), pagedOrders.get(i).getOrderId());
+      }
+    } finally {
+      jtm.delete(order);
+    }
+  }
+
+  @Test
+  public void pageSize_withOrderBy_failure_test() {
+    Query<Order> query = (Query<Order>) Query.type(Order.class).orderBy("orders.status");
+    query.pageSize(2);
+    Exception exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      query.execute(jtm);
+    });
+    assertTrue(exception.getMessage().contains("orderBy is not supported with pageSize()"));
+
+    exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      query.pages(jtm);
+    });
+    assertTrue(exception.getMessage().contains("orderBy is not supported with pageSize()"));
+  }
+
+  @Test
+  public void stream_pageSize_failure_test() {
+    Query<Order> query = (Query<Order>) Query.type(Order.class).pageSize(2);
+    Exception exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      query.stream(jtm);
+    });
+    assertTrue(exception.getMessage().contains("pageSize is not supported for stream()"));
+
+    exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      query.forEach(jtm, order -> {
+      });
+    });
+    assertTrue(exception.getMessage().contains("pageSize is not supported for stream()"));
+  }
+
+  @Test
+  public void seekAfter_withMapSqlParameterSource_success_test() {
+    List<Order> orders = Query.type(Order.class)
+                              .where("orders.status = :status",
+                                  new MapSqlParameterSource().addValue("status", "IN PROCESS"))
+                              .seekAfter("orderId", 0)
+                              .pageSize(1)
+                              .execute(jtm);
+    assertEquals(1, orders.size());
+
+    List<Order> nextPage = Query.type(Order.class)
+                                .where("orders.status = :status",
+                                    new MapSqlParameterSource().addValue("status", "IN PROCESS"))
+                                .seekAfter("orderId", orders.get(0).getOrderId())
+                                .pageSize(1)
+                                .execute(jtm);
+    assertEquals(1, nextPage.size());
+    assertTrue(nextPage.get(0).getOrderId() > orders.get(0).getOrderId());
+  }
+
+  @Test
+  public void seekAfter_invalidProperty_failure_test() {
+    Exception exception = Assertions.assertThrows(QueryException.class, () -> {
+      Query.type(Order.class).seekAfter("xyz", 1).pageSize(10).execute(jtm);
+    });
+    assertTrue(exception.getMessage().contains("Invalid seekAfter() property name"));
+  }
+
   @Test
   public void typeOnly_success_test() {
     List<Order> orders = Query.type(Order.class).execute(jtm);
@@ -578,21 +1028,93 @@ public class QueryTest {
 
 
   @Test
-  public void hasMany_limitOffsetClause_failure_test() {
+  public void hasMany_limitOffsetClause_success_test() {
+    List<Order> orders = Query.type(Order.class)
+                              .hasMany(OrderLine.class)
+                              .joinColumnManySide("order_id")
+                              .populateProperty("orderLines")
+                              .where("orders.status = ?", "IN PROCESS")
+                              .orderBy("orders.order_id DESC, order_line.order_line_id")
+                              .execute(jtm);
+
+    // the limit offset applies to the orders and not the joined rows.
+    List<Order> pagedOrders = Query.type(Order.class)
+                                   .hasMany(OrderLine.class)
+                                   .joinColumnManySide("order_id")
+                                   .populateProperty("orderLines")
+                                   .where("orders.status = ?", "IN PROCESS")
+                                   .orderBy("orders.order_id DESC, order_line.order_line_id")
+                                   .limitOffsetClause(jtm.getDialect().getLimitOffsetClause(1, 1))
+                                   .execute(jtm);
+
+    assertEquals(1, pagedOrders.size());
+    assertEquals(orders.get(1).getOrderId(), pagedOrders.get(0).getOrderId());
+    assertEquals(orders.get(1).getOrderLines().size(),
+        pagedOrders.get(0).getOrderLines().size());
+  }
+
+  @Test
+  public void hasMany_pages_success_test() {
+    List<Order> orders = Query.type(Order.class, "o")
+                              .hasMany(OrderLine.class, "ol")
+                              .joinColumnManySide("order_id")
+                              .populateProperty("orderLines")
+                              .orderBy("o.order_id, ol.order_line_id")
+                              .execute(jtm);
 
-    Exception exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
-      Query.type(Order.class)
-           .hasMany(OrderLine.class)
-           .joinColumnManySide("order_id")
-           .populateProperty("orderLines")
-           .limitOffsetClause("OFFSET 0 ROWS FETCH FIRST 10 ROWS ONLY")
-           .execute(jtm);
-    });
+    List<Order> pagedOrders = new ArrayList<>();
+    Query.type(Order.class, "o")
+         .hasMany(OrderLine.class, "ol")
+         .joinColumnManySide("order_id")
+         .populateProperty("orderLines")
+         .pageSize(2)
+         .pages(jtm)
+         .forEachRemaining(pagedOrders::addAll);
+
+    assertEquals(orders.size(), pagedOrders.size());
+    for (int i = 0; i < orders.size(); i++) {
+      assertEquals(orders.get(i).getOrderId(), pagedOrders.get(i).getOrderId());
+      assertEquals(orders.get(i).getOrderLines().size(),
+          pagedOrders.get(i).getOrderLines().size());
+    }
+  }
 
-    assertTrue(
-        exception.getMessage()
-                 .contains(
-                     "limitOffsetClause is not supported for hasMany and hasMany through relationships."));
+  @Test
+  public void hasMany_pagesInClauseChunks_success_test() {
+    List<Order> orders = Query.type(Order.class, "o")
+                              .hasMany(OrderLine.class, "ol")
+                              .joinColumnManySide("order_id")
+                              .populateProperty("orderLines")
+                              .orderBy("o.order_id, ol.order_line_id")
+                              .execute(jtm);
+
+    // no array parameter support so the ids of a page are queried in 'IN' clause chunks
+    IDialect dialect = jtm.getDialect();
+    JdbcTemplateMapper chunkJtm = jdbcDriver.contains("mysql")
+        ? new JdbcTemplateMapper(jtm.getJdbcTemplate(), null, "schema1")
+        : new JdbcTemplateMapper(jtm.getJdbcTemplate(), "schema1");
+    chunkJtm.withDialect(new IDialect() {
+      @Override
+      public String getLimitOffsetClause(Integer limit, Integer offset) {
+        return dialect.getLimitOffsetClause(limit, offset);
+      }
+    }).withInClauseChunkSize(2);
+
+    List<Order> pagedOrders = new ArrayList<>();
+    Query.type(Order.class, "o")
+         .hasMany(OrderLine.class, "ol")
+         .joinColumnManySide("order_id")
+         .populateProperty("orderLines")
+         .pageSize(5)
+         .pages(chunkJtm)
+         .forEachRemaining(pagedOrders::addAll);
+
+    assertEquals(orders.size(), pagedOrders.size());
+    for (int i = 0; i < orders.size(); i++) {
+      assertEquals(orders.get(i).getOrderId(), pagedOrders.get(i).getOrderId());
+      assertEquals(orders.get(i).getOrderLines().size(),
+          pagedOrders.get(i).getOrderLines().size());
+    }
   }
 
   @Test
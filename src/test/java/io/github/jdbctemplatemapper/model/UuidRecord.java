@@ -0,0 +1,44 @@
+package io.github.jdbctemplatemapper.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import io.github.jdbctemplatemapper.annotation.Column;
+import io.github.jdbctemplatemapper.annotation.Id;
+import io.github.jdbctemplatemapper.annotation.Table;
+
+@Table(name = "uuid_record")
+public class UuidRecord {
+  @Id
+  private UUID id;
+
+  @Column
+  private String name;
+
+  private List<UuidRecordLine> lines = new ArrayList<>();
+
+  public UUID getId() {
+    return id;
+  }
+
+  public void setId(UUID id) {
+    this.id = id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public List<UuidRecordLine> getLines() {
+    return lines;
+  }
+
+  public void setLines(List<UuidRecordLine> lines) {
+    this.lines = lines;
+  }
+}
@@ -0,0 +1,32 @@
+package io.github.jdbctemplatemapper.model;
+
+import java.util.UUID;
+
+import io.github.jdbctemplatemapper.annotation.Column;
+import io.github.jdbctemplatemapper.annotation.Id;
+import io.github.jdbctemplatemapper.annotation.Table;
+
+@Table(name = "uuid_record_line")
+public class UuidRecordLine {
+  @Id
+  private Integer id;
+
+  @Column
+  private UUID uuidRecordId;
+
+  public Integer getId() {
+    return id;
+  }
+
+  public void setId(Integer id) {
+    this.id = id;
+  }
+
+  public UUID getUuidRecordId() {
+    return uuidRecordId;
+  }
+
+  public void setUuidRecordId(UUID uuidRecordId) {
+    this.uuidRecordId = uuidRecordId;
+  }
+}